@@ -1,21 +1,55 @@
 package application;
 
 import model.*;
+import replicacao.Primario;
 import service.HotelService;
+import utils.ArquivoHospedesIndexado;
 import utils.GerenciadorArquivos;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
 public class Main {
+
+    // Quantos hóspedes ficam em memória no modo sob demanda (--sob-demanda)
+    private static final int CAPACIDADE_CACHE_HOSPEDES = 1000;
+
+    // Quantos eventos o primário guarda para réplicas que se atrasarem (--primario)
+    private static final int CAPACIDADE_LOG_REPLICACAO = 100000;
+
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         HotelService hotel = new HotelService();
 
         System.out.println("Carregando sistema...");
 
+        // No modo sob demanda os hóspedes do arquivo nunca passam por cadastrarHospede,
+        // então o primário não teria como mandá-los às réplicas: as duas opções não combinam.
+        if (Arrays.asList(args).contains("--primario") && Arrays.asList(args).contains("--sob-demanda")) {
+            System.out.println("Erro: --primario e --sob-demanda não podem ser usados juntos "
+                    + "(as réplicas não receberiam os hóspedes já salvos no arquivo).");
+            return;
+        }
+
+        // 0. REPLICAÇÃO (opcional): '--primario <porta>' envia todas as alterações
+        // para réplicas de leitura. É ligado ANTES de carregar os arquivos para que
+        // as réplicas também recebam os dados iniciais.
+        Primario primario = null;
+        int posicaoPrimario = Arrays.asList(args).indexOf("--primario");
+        if (posicaoPrimario >= 0 && posicaoPrimario + 1 < args.length) {
+            try {
+                primario = new Primario(Integer.parseInt(args[posicaoPrimario + 1]), CAPACIDADE_LOG_REPLICACAO);
+                hotel.adicionarOuvinte(primario);
+                System.out.println("Replicação ativa na porta " + args[posicaoPrimario + 1] + ".");
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Erro ao iniciar replicação: " + e.getMessage());
+            }
+        }
+
         // 1. CARREGAR QUARTOS (Isso é novo!)
         // Tem que ser ANTES dos hóspedes para o sistema já ter quartos na memória
         List<Quarto> quartosSalvos = GerenciadorArquivos.carregarQuartos();
@@ -24,15 +58,26 @@ public class Main {
         }
 
         // 2. CARREGAR HÓSPEDES
-        List<Hospede> hospedesSalvos = GerenciadorArquivos.carregarHospedes();
-        for (Hospede h : hospedesSalvos) {
-            hotel.cadastrarHospede(h);
+        // Com '--sob-demanda' nada é carregado agora: só o índice CPF -> posição é aberto
+        // e cada hóspede é lido do arquivo quando for usado.
+        ArquivoHospedesIndexado hospedesSobDemanda = null;
+        if (Arrays.asList(args).contains("--sob-demanda")) {
+            hospedesSobDemanda = GerenciadorArquivos.abrirHospedesSobDemanda(CAPACIDADE_CACHE_HOSPEDES);
+        }
+
+        if (hospedesSobDemanda != null) {
+            hotel.usarHospedesSobDemanda(hospedesSobDemanda);
+        } else {
+            List<Hospede> hospedesSalvos = GerenciadorArquivos.carregarHospedes();
+            for (Hospede h : hospedesSalvos) {
+                hotel.cadastrarHospede(h);
+            }
         }
 
         int opcao = 0;
 
         // Loop do Menu
-        while (opcao != 6) {
+        while (opcao != 7) {
             exibirMenu();
             try {
                 // Lê como string e converte para evitar bugs do Scanner
@@ -61,13 +106,29 @@ public class Main {
                     listarRelatorios(hotel);
                     break;
                 case 6:
+                    exibirPrevisaoOcupacao(scanner, hotel);
+                    break;
+                case 7:
                     System.out.println("Salvando dados e saindo...");
                     
                     // --- AQUI ESTAVA O SEGREDO ---
                     // Salvamos Hóspedes E Quartos antes de fechar
-                    GerenciadorArquivos.salvarHospedes(hotel.getHospedes());
-                    GerenciadorArquivos.salvarQuartos(hotel.getQuartos());
+                    // (No modo sob demanda os hóspedes já foram gravados; falta só o índice)
+                    if (hospedesSobDemanda != null) {
+                        hospedesSobDemanda.fechar();
+                    } else {
+                        GerenciadorArquivos.salvarHospedes(hotel.getHospedes());
+                    }
+                    GerenciadorArquivos.salvarQuartos(hotel.getEstado());
                     
+                    if (primario != null) {
+                        try {
+                            primario.close();
+                        } catch (IOException e) {
+                            System.err.println("Erro ao encerrar replicação: " + e.getMessage());
+                        }
+                    }
+
                     System.out.println("Sistema encerrado.");
                     break;
                 default:
@@ -86,7 +147,8 @@ public class Main {
         System.out.println("3. Realizar Reserva (Check-in)");
         System.out.println("4. Realizar Check-out");
         System.out.println("5. Relatórios (Listar tudo)");
-        System.out.println("6. Sair e Salvar");
+        System.out.println("6. Previsão de Ocupação");
+        System.out.println("7. Sair e Salvar");
         System.out.print("Escolha uma opção: ");
     }
 
@@ -162,9 +224,28 @@ public class Main {
         }
     }
 
+    private static void exibirPrevisaoOcupacao(Scanner scanner, HotelService hotel) {
+        try {
+            System.out.print("\nData Inicial (AAAA-MM-DD): ");
+            LocalDate inicio = LocalDate.parse(scanner.nextLine());
+
+            System.out.print("Quantidade de Semanas: ");
+            int semanas = Integer.parseInt(scanner.nextLine());
+
+            System.out.print("Noites Seguidas Desejadas: ");
+            int noites = Integer.parseInt(scanner.nextLine());
+
+            hotel.exibirPrevisaoOcupacao(inicio, semanas, noites);
+
+        } catch (DateTimeParseException e) {
+            System.out.println("Erro: Formato de data inválido! Use AAAA-MM-DD (ex: 2024-12-25)");
+        } catch (NumberFormatException e) {
+            System.out.println("Erro: Digite números válidos.");
+        }
+    }
+
     private static void listarRelatorios(HotelService hotel) {
-        hotel.listarQuartosDisponiveis();
-        hotel.listarHospedes();
-        hotel.listarReservasAtivas();
+        // Uma única foto do hotel para as três listagens ficarem coerentes entre si
+        hotel.listarRelatorioCompleto(System.out);
     }
 }
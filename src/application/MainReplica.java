@@ -0,0 +1,88 @@
+package application;
+
+import replicacao.Replica;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Scanner;
+
+/**
+ * Ponto de entrada de uma RÉPLICA DE LEITURA.
+ * O sistema principal precisa estar rodando com '--primario <porta>'.
+ *
+ * Uso: java application.MainReplica [host] [porta]   (padrão: localhost 5000)
+ */
+public class MainReplica {
+    public static void main(String[] args) throws IOException {
+        String host = (args.length > 0) ? args[0] : "localhost";
+        int porta = (args.length > 1) ? Integer.parseInt(args[1]) : 5000;
+
+        Scanner scanner = new Scanner(System.in);
+        Replica replica = new Replica(host, porta);
+        System.out.println("Réplica conectando em " + host + ":" + porta + "...");
+
+        int opcao = 0;
+        while (opcao != 7) {
+            exibirMenu();
+            try {
+                String input = scanner.nextLine();
+                if (input.isEmpty()) continue;
+                opcao = Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                System.out.println("Por favor, digite um número válido.");
+                continue;
+            }
+
+            switch (opcao) {
+                case 1:
+                    replica.listarQuartosDisponiveis();
+                    break;
+                case 2:
+                    replica.listarHospedes();
+                    break;
+                case 3:
+                    replica.listarReservasAtivas();
+                    break;
+                case 4:
+                    replica.listarRelatorioCompleto();
+                    break;
+                case 5:
+                    System.out.println("\nQuartos livres hoje: " + replica.contarQuartosLivres(LocalDate.now()));
+                    break;
+                case 6:
+                    exibirStatus(replica);
+                    break;
+                case 7:
+                    replica.close();
+                    System.out.println("Réplica encerrada.");
+                    break;
+                default:
+                    System.out.println("Opção inválida!");
+            }
+        }
+        scanner.close();
+    }
+
+    private static void exibirMenu() {
+        System.out.println("\n=== RÉPLICA DE LEITURA ===");
+        System.out.println("1. Quartos Disponíveis");
+        System.out.println("2. Hóspedes Cadastrados");
+        System.out.println("3. Reservas Ativas");
+        System.out.println("4. Relatório Completo");
+        System.out.println("5. Quartos Livres Hoje");
+        System.out.println("6. Status da Replicação");
+        System.out.println("7. Sair");
+        System.out.print("Escolha uma opção: ");
+    }
+
+    private static void exibirStatus(Replica replica) {
+        System.out.println("\n--- Status da Replicação ---");
+        System.out.println("Conectada: " + (replica.isConectada() ? "sim" : "não"));
+        System.out.println("Último evento aplicado: " + replica.getSequenciaAplicada()
+                + " de " + replica.getSequenciaPrimario());
+        System.out.println("Atraso: " + replica.getAtrasoEventos() + " eventos / "
+                + replica.getAtrasoMillis() + " ms");
+        System.out.println("Eventos aplicados: " + replica.getEventosAplicados()
+                + " | Snapshots recebidos: " + replica.getSnapshotsRecebidos());
+    }
+}
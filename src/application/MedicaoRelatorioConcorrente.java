@@ -0,0 +1,132 @@
+package application;
+
+import model.Quarto;
+import model.Reserva;
+import service.EstadoHotel;
+import service.HotelService;
+import simulacao.ExecutorCarga;
+import simulacao.GeradorCarga;
+import simulacao.GeradorDados;
+import simulacao.Operacao;
+import simulacao.ResultadoCarga;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MEDIÇÃO: reservas x relatório completo rodando ao mesmo tempo.
+ *
+ * 1. Monta um hotel em memória com muitos hóspedes (padrão: 1 milhão).
+ * 2. Mede a latência das operações SEM relatório rodando.
+ * 3. Mede de novo COM uma thread gerando o relatório completo sem parar.
+ *
+ * Como os relatórios leem uma foto imutável (EstadoHotel), a latência das reservas
+ * deve ficar parecida nos dois casos e nenhum relatório pode ver um estado incoerente.
+ * Cada relatório é conferido contra a foto de onde saiu: quantidade de linhas
+ * impressas e nenhum quarto com reserva ativa listado como disponível.
+ *
+ * Uso: java application.MedicaoRelatorioConcorrente [hospedes] [quartos] [operacoes] [ops/s]
+ */
+public class MedicaoRelatorioConcorrente {
+
+    private static final long SEMENTE = 42;
+
+    public static void main(String[] args) throws InterruptedException {
+        int quantidadeHospedes = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+        int quantidadeQuartos = (args.length > 1) ? Integer.parseInt(args[1]) : 400;
+        int operacoes = (args.length > 2) ? Integer.parseInt(args[2]) : 100000;
+        double taxa = (args.length > 3) ? Double.parseDouble(args[3]) : 5000;
+
+        // 1. HOTEL EM MEMÓRIA
+        System.out.println("Cadastrando " + quantidadeQuartos + " quartos e " + quantidadeHospedes + " hóspedes...");
+        final HotelService hotel = new HotelService();
+        List<Quarto> quartos = GeradorDados.gerarQuartos(quantidadeQuartos, SEMENTE);
+        for (Quarto q : quartos) {
+            hotel.cadastrarQuarto(q);
+        }
+        Random random = new Random(SEMENTE);
+        for (int i = 0; i < quantidadeHospedes; i++) {
+            hotel.cadastrarHospede(GeradorDados.gerarHospede(i, random));
+        }
+
+        GeradorCarga gerador = new GeradorCarga(quartos, quantidadeHospedes, LocalDate.of(2025, 1, 1), 0.75, 3, SEMENTE);
+
+        // 2. SEM RELATÓRIO
+        System.out.println("Medindo " + operacoes + " operações a " + (long) taxa + " ops/s sem relatório...");
+        ResultadoCarga semRelatorio = ExecutorCarga.executar(hotel, gerador, operacoes / 5, operacoes, taxa);
+
+        // 3. COM RELATÓRIO COMPLETO EM LAÇO
+        // Descarta o relatório, mas conta as linhas impressas para conferir com a foto
+        final long[] linhas = new long[1];
+        final PrintStream descarte = new PrintStream(new OutputStream() {
+            @Override public void write(int b) {
+                if (b == '\n') linhas[0]++;
+            }
+            @Override public void write(byte[] b, int off, int len) {
+                for (int i = off; i < off + len; i++) write(b[i]);
+            }
+        });
+        final AtomicLong relatorios = new AtomicLong();
+        final AtomicLong duracaoTotal = new AtomicLong();
+        final AtomicLong inconsistencias = new AtomicLong();
+        final AtomicBoolean parar = new AtomicBoolean();
+
+        Thread relatorio = new Thread(() -> {
+            while (!parar.get()) {
+                EstadoHotel foto = hotel.getEstado();
+                linhas[0] = 0;
+                long inicio = System.nanoTime();
+                hotel.listarRelatorioCompleto(foto, descarte);
+                descarte.flush();
+                duracaoTotal.addAndGet(System.nanoTime() - inicio);
+                relatorios.incrementAndGet();
+                if (!relatorioConfere(foto, linhas[0])) {
+                    inconsistencias.incrementAndGet();
+                }
+            }
+        }, "relatorio-completo");
+
+        System.out.println("Medindo " + operacoes + " operações com relatório completo rodando em paralelo...");
+        relatorio.start();
+        ResultadoCarga comRelatorio = ExecutorCarga.executar(hotel, gerador, 0, operacoes, taxa);
+        parar.set(true);
+        relatorio.join();
+
+        // 4. RESULTADOS
+        System.out.println("\n=== SEM relatório ===");
+        System.out.print(semRelatorio);
+        System.out.println("\n=== COM relatório em paralelo ===");
+        System.out.print(comRelatorio);
+        System.out.printf("%nRelatórios completos gerados: %d (média %.0f ms cada) | Fotos incoerentes: %d%n",
+                relatorios.get(), relatorios.get() == 0 ? 0 : duracaoTotal.get() / 1e6 / relatorios.get(),
+                inconsistencias.get());
+        System.out.printf("Reserva p99: %.1f µs -> %.1f µs | máx: %.1f µs -> %.1f µs%n",
+                semRelatorio.percentil(Operacao.Tipo.RESERVA, 99), comRelatorio.percentil(Operacao.Tipo.RESERVA, 99),
+                semRelatorio.percentil(Operacao.Tipo.RESERVA, 100), comRelatorio.percentil(Operacao.Tipo.RESERVA, 100));
+    }
+
+    /**
+     * Confere o relatório com a foto de onde ele saiu:
+     * - as linhas impressas batem com a foto (3 títulos de 2 linhas cada, um quarto
+     *   por linha ou "Nenhum quarto disponível.", um hóspede e uma reserva por linha);
+     * - nenhum quarto com reserva ativa aparece como disponível.
+     */
+    private static boolean relatorioConfere(EstadoHotel foto, long linhasImpressas) {
+        List<Quarto> disponiveis = foto.getQuartosDisponiveis();
+        long esperadas = 3 * 2 + Math.max(1, disponiveis.size()) + foto.getHospedes().size() + foto.getReservas().size();
+        if (linhasImpressas != esperadas) return false;
+
+        HashSet<Integer> livres = new HashSet<>();
+        for (Quarto q : disponiveis) livres.add(q.getNumero());
+        for (Reserva r : foto.getReservas()) {
+            if (livres.contains(r.getQuarto().getNumero())) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package application;
+
+import model.*;
+import service.HotelService;
+import simulacao.ExecutorCarga;
+import simulacao.GeradorCarga;
+import simulacao.GeradorDados;
+import simulacao.ResultadoCarga;
+import utils.ArquivoHospedesIndexado;
+import utils.GerenciadorArquivos;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ponto de entrada do SIMULADOR DE CARGA (benchmark / planejamento de capacidade).
+ *
+ * Exemplo:
+ *   java application.SimuladorCarga --quartos 800 --hospedes 1000000 --operacoes 500000 --taxa 20000
+ *
+ * Opções (todas opcionais):
+ *   --pasta         onde gerar quartos.txt e hospedes.txt (padrão: dados/simulacao)
+ *   --quartos       quantidade de quartos (padrão: 400)
+ *   --hospedes      quantidade de hóspedes (padrão: 100000)
+ *   --operacoes     operações medidas (padrão: 200000)
+ *   --aquecimento   operações antes da medição (padrão: 20000)
+ *   --taxa          operações por segundo; 0 = o mais rápido possível (padrão: 0)
+ *   --ocupacao      ocupação média desejada (padrão: 0.75)
+ *   --consultas     consultas por reserva (padrão: 3)
+ *   --inicio        primeiro dia simulado (padrão: 2025-01-01)
+ *   --semente       semente dos sorteios (padrão: 42)
+ *   --sob-demanda   usa o índice de hóspedes em disco em vez da lista em memória
+ */
+public class SimuladorCarga {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opcoes = lerOpcoes(args);
+        String pasta = opcoes.getOrDefault("pasta", "dados/simulacao");
+        int quantidadeQuartos = Integer.parseInt(opcoes.getOrDefault("quartos", "400"));
+        int quantidadeHospedes = Integer.parseInt(opcoes.getOrDefault("hospedes", "100000"));
+        int operacoes = Integer.parseInt(opcoes.getOrDefault("operacoes", "200000"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "20000"));
+        double taxa = Double.parseDouble(opcoes.getOrDefault("taxa", "0"));
+        double ocupacao = Double.parseDouble(opcoes.getOrDefault("ocupacao", "0.75"));
+        double consultas = Double.parseDouble(opcoes.getOrDefault("consultas", "3"));
+        LocalDate inicio = LocalDate.parse(opcoes.getOrDefault("inicio", "2025-01-01"));
+        long semente = Long.parseLong(opcoes.getOrDefault("semente", "42"));
+
+        if (quantidadeQuartos < 1 || quantidadeHospedes < 1) {
+            System.out.println("Erro: é preciso pelo menos 1 quarto e 1 hóspede.");
+            return;
+        }
+
+        // 1. GERAR OS ARQUIVOS (mesmo formato usado pelo sistema)
+        System.out.println("Gerando " + quantidadeQuartos + " quartos e " + quantidadeHospedes
+                + " hóspedes em " + pasta + "...");
+        GeradorDados.gerarArquivos(pasta, quantidadeQuartos, quantidadeHospedes, semente);
+
+        // 2. CARREGAR NO HOTEL (pelo mesmo caminho do Main)
+        HotelService hotel = new HotelService();
+        List<Quarto> quartos = GerenciadorArquivos.carregarQuartos(new File(pasta, "quartos.txt").getPath());
+        for (Quarto q : quartos) {
+            hotel.cadastrarQuarto(q);
+        }
+
+        String caminhoHospedes = new File(pasta, "hospedes.txt").getPath();
+        ArquivoHospedesIndexado hospedesSobDemanda = null;
+        if (opcoes.containsKey("sob-demanda")) {
+            hospedesSobDemanda = new ArquivoHospedesIndexado(caminhoHospedes,
+                    new File(pasta, "hospedes.idx").getPath(), 1000);
+            hotel.usarHospedesSobDemanda(hospedesSobDemanda);
+        } else {
+            for (Hospede h : GerenciadorArquivos.carregarHospedes(caminhoHospedes)) {
+                hotel.cadastrarHospede(h);
+            }
+        }
+
+        // 3. EXECUTAR A CARGA
+        System.out.println("Executando " + operacoes + " operações"
+                + (taxa > 0 ? " a " + (long) taxa + " ops/s" : " na velocidade máxima") + "...");
+        GeradorCarga gerador = new GeradorCarga(quartos, quantidadeHospedes, inicio, ocupacao, consultas, semente);
+        ResultadoCarga resultado = ExecutorCarga.executar(hotel, gerador, aquecimento, operacoes, taxa);
+
+        System.out.println();
+        System.out.print(resultado);
+        if (hospedesSobDemanda != null) {
+            System.out.println("Cache de hóspedes: " + hospedesSobDemanda.getAcertos() + " acertos | "
+                    + hospedesSobDemanda.getFalhas() + " falhas");
+            hospedesSobDemanda.fechar();
+        }
+    }
+
+    // Converte "--chave valor" em um mapa; opções sem valor (ex: --sob-demanda) ficam com "true".
+    private static Map<String, String> lerOpcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) continue;
+            String chave = args[i].substring(2);
+            boolean temValor = i + 1 < args.length && !args[i + 1].startsWith("--");
+            opcoes.put(chave, temValor ? args[++i] : "true");
+        }
+        return opcoes;
+    }
+}
@@ -32,6 +32,10 @@ public abstract class Quarto {
         return numero;
     }
 
+    public double getPrecoBase() {
+        return precoBase;
+    }
+
     public boolean isOcupado() {
         return isOcupado;
     }
@@ -40,6 +44,12 @@ public abstract class Quarto {
         this.isOcupado = ocupado;
     }
 
+    // Categoria do quarto como texto ("LUXO" ou "SIMPLES").
+    // Usada no arquivo CSV e nos relatórios de ocupação por tipo.
+    public String getTipo() {
+        return (this instanceof QuartoLuxo) ? "LUXO" : "SIMPLES";
+    }
+
     @Override
     public String toString() {
         // Formata o preço para ter sempre 2 casas decimais (ex: 100.00)
@@ -48,10 +58,12 @@ public abstract class Quarto {
 
     // Método novo para salvar no arquivo
     public String toCSV() {
-        // Verifica qual é o tipo da classe usando 'instanceof'
-        String tipo = (this instanceof QuartoLuxo) ? "LUXO" : "SIMPLES";
-        
+        return toCSV(isOcupado);
+    }
+
+    // Mesmo formato, mas com a ocupação informada por quem chama (ex: a de uma foto do hotel)
+    public String toCSV(boolean ocupado) {
         // Retorna: TIPO;NUMERO;PRECO;OCUPADO
-        return tipo + ";" + numero + ";" + precoBase + ";" + isOcupado;
+        return getTipo() + ";" + numero + ";" + precoBase + ";" + ocupado;
     }
 }
@@ -49,6 +49,10 @@ public class Reserva {
         return hospede;
     }
 
+    public Periodo getPeriodo() {
+        return periodo;
+    }
+
     @Override
     public String toString() {
         // Formatação complexa para o relatório ficar bonito no console
@@ -0,0 +1,283 @@
+package replicacao;
+
+import model.Hospede;
+import model.Quarto;
+import model.Reserva;
+import service.OuvinteAlteracoes;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * REPLICAÇÃO - Primário:
+ * Fica "ouvindo" o HotelService principal (OuvinteAlteracoes) e transforma cada
+ * alteração em um EVENTO numerado (seq = 1, 2, 3...). As réplicas se conectam por
+ * TCP e recebem esses eventos na mesma ordem.
+ *
+ * Como uma réplica atrasada se recupera?
+ * - O primário guarda os últimos 'capacidadeLog' eventos. Se a réplica pede um seq
+ *   que ainda está guardado, recebe só o que falta.
+ * - Se ficou tão para trás que esses eventos já foram descartados, recebe um
+ *   SNAPSHOT (cópia completa do estado atual) e continua a partir dele.
+ *
+ * - Se a réplica veio de OUTRA execução do primário (época diferente), a numeração
+ *   dela não vale mais: também recebe um SNAPSHOT, mesmo que o seq "caiba" no log.
+ *
+ * O estado usado no snapshot é mantido aqui mesmo, a partir dos próprios eventos,
+ * para ser sempre coerente com o número de sequência (sem ler o HotelService
+ * enquanto ele está sendo alterado). Dentro do 'synchronized' só se copiam
+ * referências; montar as linhas e enviá-las acontece fora, sem segurar as alterações.
+ */
+public class Primario implements OuvinteAlteracoes, Closeable {
+
+    private static final long INTERVALO_BATIMENTO_MS = 1000;
+
+    private final ServerSocket servidor;
+    private final int capacidadeLog;
+
+    // Sorteada a cada execução: identifica a "história" a que os números de sequência pertencem
+    private final long epoca = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+
+    // Log de eventos: log.get(i) é o evento de número (primeiraSeq + i), guardado
+    // como "horario;alteracao" (seq e cabeça entram na linha só na hora do envio)
+    private final List<String> log = new ArrayList<>();
+    private long primeiraSeq = 1;
+    private long ultimaSeq = 0;
+
+    // Cópia de 'ultimaSeq' lida SEM trava pelas threads de envio: cada EVENTO leva a
+    // seq mais recente do primário no momento em que é escrito (métrica de atraso da réplica)
+    private volatile long cabeca = 0;
+
+    // Estado atual (para snapshots).
+    // Quartos e hóspedes só crescem: ficam em arrays onde só se acrescenta no fim
+    // (igual ao EstadoHotel), então o snapshot guarda só o array e a quantidade.
+    private Quarto[] quartos = new Quarto[16];
+    private boolean[] ocupados = new boolean[16];
+    private int quantidadeQuartos;
+    private final Map<Integer, Integer> indiceQuarto = new HashMap<>();
+    private Hospede[] hospedes = new Hospede[16];
+    private int quantidadeHospedes;
+    private final Map<Integer, Reserva> reservas = new LinkedHashMap<>();
+
+    private final List<Socket> conexoes = new ArrayList<>();
+    private long snapshotsEnviados;
+    private volatile boolean fechado;
+
+    public Primario(int porta, int capacidadeLog) throws IOException {
+        this.servidor = new ServerSocket(porta);
+        this.capacidadeLog = capacidadeLog;
+
+        Thread aceitador = new Thread(this::aceitarReplicas, "replicacao-aceitador");
+        aceitador.setDaemon(true);
+        aceitador.start();
+    }
+
+    // --- OUVINTE (chamado pelo HotelService depois de cada alteração) ---
+
+    @Override
+    public synchronized void quartoCadastrado(Quarto quarto) {
+        if (quantidadeQuartos == quartos.length) {
+            // Arrays NOVOS: um snapshot em andamento continua lendo os antigos sem problema
+            quartos = Arrays.copyOf(quartos, quantidadeQuartos * 2);
+            ocupados = Arrays.copyOf(ocupados, quantidadeQuartos * 2);
+        }
+        indiceQuarto.put(quarto.getNumero(), quantidadeQuartos);
+        quartos[quantidadeQuartos] = quarto;
+        ocupados[quantidadeQuartos] = quarto.isOcupado();
+        quantidadeQuartos++;
+        publicar(ProtocoloReplicacao.quarto(quarto, quarto.isOcupado()));
+    }
+
+    @Override
+    public synchronized void hospedeCadastrado(Hospede hospede) {
+        if (quantidadeHospedes == hospedes.length) {
+            hospedes = Arrays.copyOf(hospedes, quantidadeHospedes * 2);
+        }
+        hospedes[quantidadeHospedes++] = hospede;
+        publicar(ProtocoloReplicacao.hospede(hospede));
+    }
+
+    @Override
+    public synchronized void reservaRealizada(Reserva reserva) {
+        reservas.put(reserva.getQuarto().getNumero(), reserva);
+        marcarOcupado(reserva.getQuarto().getNumero(), true);
+        publicar(ProtocoloReplicacao.reserva(reserva));
+    }
+
+    @Override
+    public synchronized void checkOutRealizado(int numeroQuarto) {
+        reservas.remove(numeroQuarto);
+        marcarOcupado(numeroQuarto, false);
+        publicar(ProtocoloReplicacao.checkOut(numeroQuarto));
+    }
+
+    // --- MÉTRICAS ---
+
+    public synchronized long getUltimaSequencia() { return ultimaSeq; }
+
+    public long getEpoca() { return epoca; }
+
+    public synchronized int getQuantidadeReplicas() { return conexoes.size(); }
+
+    public synchronized long getSnapshotsEnviados() { return snapshotsEnviados; }
+
+    @Override
+    public void close() throws IOException {
+        fechado = true;
+        servidor.close();
+        synchronized (this) {
+            for (Socket s : conexoes) s.close();
+            notifyAll();
+        }
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private void marcarOcupado(int numeroQuarto, boolean ocupado) {
+        Integer indice = indiceQuarto.get(numeroQuarto);
+        if (indice != null) ocupados[indice] = ocupado;
+    }
+
+    private void publicar(String alteracao) {
+        ultimaSeq++;
+        cabeca = ultimaSeq;
+        log.add(System.currentTimeMillis() + ";" + alteracao);
+
+        // Descarta os eventos mais antigos em blocos (evita mover a lista a cada evento)
+        if (log.size() > 2 * capacidadeLog) {
+            int excesso = log.size() - capacidadeLog;
+            log.subList(0, excesso).clear();
+            primeiraSeq += excesso;
+        }
+        notifyAll(); // Acorda as threads de envio que estavam esperando eventos novos
+    }
+
+    private void aceitarReplicas() {
+        while (!fechado) {
+            try {
+                Socket socket = servidor.accept();
+                Thread envio = new Thread(() -> atenderReplica(socket), "replicacao-envio");
+                envio.setDaemon(true);
+                envio.start();
+            } catch (IOException e) {
+                if (!fechado) System.err.println("Erro ao aceitar réplica: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Uma thread por réplica: lê de onde ela quer continuar e vai mandando
+     * eventos (ou um snapshot) conforme eles aparecem no log.
+     */
+    private void atenderReplica(Socket socket) {
+        synchronized (this) { conexoes.add(socket); }
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            // REPLICA;epoca;ultimaSeqAplicada
+            String pedido = in.readLine();
+            if (pedido == null || !pedido.startsWith("REPLICA;")) return;
+            String[] partes = pedido.split(";");
+            if (partes.length != 3) return;
+            long proxima = Long.parseLong(partes[2]) + 1;
+
+            // Época diferente = a seq da réplica é de outra execução do primário e não
+            // diz nada sobre este log (mesmo que o número caia dentro dele): snapshot.
+            boolean precisaSnapshot = Long.parseLong(partes[1]) != epoca;
+            out.write("PRIMARIO;" + epoca);
+            out.newLine();
+
+            while (!fechado) {
+                List<String> lote = new ArrayList<>();
+                long seqDoLote = proxima;
+                String batimento = null;
+                Snapshot snapshot = null;
+                synchronized (this) {
+                    if (!precisaSnapshot && proxima == ultimaSeq + 1) {
+                        wait(INTERVALO_BATIMENTO_MS);
+                    }
+                    if (precisaSnapshot || proxima < primeiraSeq || proxima > ultimaSeq + 1) {
+                        // Réplica de outra época ou atrasada demais: só copia as referências aqui
+                        snapshot = new Snapshot();
+                        snapshotsEnviados++;
+                        precisaSnapshot = false;
+                    } else if (proxima <= ultimaSeq) {
+                        lote.addAll(log.subList((int) (proxima - primeiraSeq), log.size()));
+                    } else {
+                        batimento = "BATIMENTO;" + ultimaSeq + ";" + System.currentTimeMillis();
+                    }
+                    proxima = ultimaSeq + 1;
+                }
+
+                // A montagem das linhas e a escrita na rede acontecem FORA do synchronized:
+                // nem um snapshot grande nem uma réplica lenta seguram o HotelService principal.
+                if (snapshot != null) snapshot.enviar(out);
+                for (String evento : lote) {
+                    // EVENTO;seq;cabeca;horario;TIPO;dados
+                    out.write("EVENTO;" + seqDoLote++ + ";" + cabeca + ";" + evento);
+                    out.newLine();
+                }
+                if (batimento != null) {
+                    out.write(batimento);
+                    out.newLine();
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Réplica desconectou: ela vai reconectar e pedir o que falta
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) { conexoes.remove(socket); }
+        }
+    }
+
+    /**
+     * Cópia completa do estado num instante (seq). O construtor roda dentro do
+     * 'synchronized' e só copia referências: os arrays de quartos e hóspedes são
+     * compartilhados (só crescem), e apenas 'ocupados' e as reservas, que mudam no
+     * lugar, são copiados (tamanho = quantidade de quartos, não de hóspedes).
+     */
+    private final class Snapshot {
+        private final long seq = ultimaSeq;
+        private final Quarto[] quartosFoto = quartos;
+        private final boolean[] ocupadosFoto = Arrays.copyOf(ocupados, quantidadeQuartos);
+        private final Hospede[] hospedesFoto = hospedes;
+        private final int quantidadeHospedesFoto = quantidadeHospedes;
+        private final List<Reserva> reservasFoto = new ArrayList<>(reservas.values());
+
+        /**
+         * Escreve linha a linha direto no socket (sem montar tudo na memória antes).
+         * Quartos ocupados POR RESERVA vão livres, porque a reserva (enviada em
+         * seguida) é que marca o quarto como ocupado na réplica.
+         */
+        void enviar(BufferedWriter out) throws IOException {
+            Set<Integer> comReserva = new HashSet<>();
+            for (Reserva r : reservasFoto) comReserva.add(r.getQuarto().getNumero());
+
+            escrever(out, "SNAPSHOT;" + seq);
+            for (int i = 0; i < ocupadosFoto.length; i++) {
+                Quarto q = quartosFoto[i];
+                boolean ocupadoSemReserva = ocupadosFoto[i] && !comReserva.contains(q.getNumero());
+                escrever(out, "ESTADO;" + ProtocoloReplicacao.quarto(q, ocupadoSemReserva));
+            }
+            for (int i = 0; i < quantidadeHospedesFoto; i++) {
+                escrever(out, "ESTADO;" + ProtocoloReplicacao.hospede(hospedesFoto[i]));
+            }
+            for (Reserva r : reservasFoto) {
+                escrever(out, "ESTADO;" + ProtocoloReplicacao.reserva(r));
+            }
+            escrever(out, "FIM_SNAPSHOT;" + seq);
+        }
+
+        private void escrever(BufferedWriter out, String linha) throws IOException {
+            out.write(linha);
+            out.newLine();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package replicacao;
+
+import model.Hospede;
+import model.Quarto;
+import model.Reserva;
+import service.HotelService;
+import utils.GerenciadorArquivos;
+
+import java.time.LocalDate;
+
+/**
+ * REPLICAÇÃO - Protocolo (formato das mensagens):
+ * Tudo trafega como linhas de texto separadas por ';', no mesmo estilo dos arquivos .txt.
+ *
+ * Réplica -> Primário:
+ *   REPLICA;epoca;ultimaSeqAplicada        (ao conectar: "a partir de onde eu continuo";
+ *                                           epoca 0 = nunca sincronizou)
+ * Primário -> Réplica:
+ *   PRIMARIO;epoca                         (resposta; época diferente = SNAPSHOT a seguir)
+ *   EVENTO;seq;cabeca;horario;TIPO;dados   (uma alteração, em ordem; 'cabeca' = última seq
+ *                                           do primário no envio, para medir o atraso)
+ *   SNAPSHOT;seq                           (início de uma cópia completa do estado)
+ *   ESTADO;TIPO;dados...                   (itens da cópia completa)
+ *   FIM_SNAPSHOT;seq
+ *   BATIMENTO;ultimaSeq;horario            (sinal de vida quando não há alterações)
+ *
+ * Tipos de alteração e seus dados:
+ *   QUARTO;TIPO;NUMERO;PRECO;OCUPADO        (mesmo formato do quartos.txt)
+ *   HOSPEDE;Nome;CPF;Telefone               (mesmo formato do hospedes.txt)
+ *   RESERVA;quarto;entrada;saida;Nome;CPF;Telefone
+ *   CHECKOUT;quarto
+ */
+public class ProtocoloReplicacao {
+
+    public static String quarto(Quarto q, boolean ocupado) {
+        return "QUARTO;" + q.getTipo() + ";" + q.getNumero() + ";" + q.getPrecoBase() + ";" + ocupado;
+    }
+
+    public static String hospede(Hospede h) {
+        return "HOSPEDE;" + h.toCSV();
+    }
+
+    // A reserva leva o hóspede junto: a réplica consegue aplicá-la mesmo que nunca
+    // tenha recebido o cadastro (ex: cadastro anterior ao snapshot que a réplica pegou).
+    public static String reserva(Reserva r) {
+        return "RESERVA;" + r.getQuarto().getNumero() + ";" + r.getPeriodo().getEntrada() + ";"
+                + r.getPeriodo().getSaida() + ";" + r.getHospede().toCSV();
+    }
+
+    public static String checkOut(int numeroQuarto) {
+        return "CHECKOUT;" + numeroQuarto;
+    }
+
+    /**
+     * Aplica uma alteração ("TIPO;dados...") no HotelService da réplica,
+     * chamando os MESMOS métodos que o primário chamou.
+     */
+    public static void aplicar(HotelService hotel, String alteracao) {
+        int separador = alteracao.indexOf(';');
+        String tipo = alteracao.substring(0, separador);
+        String dados = alteracao.substring(separador + 1);
+
+        switch (tipo) {
+            case "QUARTO":
+                Quarto q = GerenciadorArquivos.lerQuarto(dados);
+                if (q != null) hotel.cadastrarQuarto(q);
+                break;
+            case "HOSPEDE":
+                Hospede h = GerenciadorArquivos.lerHospede(dados);
+                if (h != null) hotel.cadastrarHospede(h);
+                break;
+            case "RESERVA":
+                String[] campos = dados.split(";", 4);
+                Hospede hospede = GerenciadorArquivos.lerHospede(campos[3]);
+                if (!hotel.consultarHospede(hospede.getCpf()).isPresent()) {
+                    hotel.cadastrarHospede(hospede);
+                }
+                hotel.realizarReserva(hospede.getCpf(), Integer.parseInt(campos[0]),
+                        LocalDate.parse(campos[1]), LocalDate.parse(campos[2]));
+                break;
+            case "CHECKOUT":
+                hotel.realizarCheckOut(Integer.parseInt(dados));
+                break;
+            default:
+                throw new IllegalArgumentException("Alteração desconhecida: " + tipo);
+        }
+    }
+}
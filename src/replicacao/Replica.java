@@ -0,0 +1,202 @@
+package replicacao;
+
+import service.HotelService;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * REPLICAÇÃO - Réplica de Leitura:
+ * Conecta no Primário, recebe a sequência de alterações e aplica cada uma no
+ * SEU PRÓPRIO HotelService. Assim os relatórios rodam aqui, sem disputar o
+ * HotelService principal com os check-ins.
+ *
+ * É somente leitura: só expõe consultas. Se a conexão cair, tenta de novo
+ * continuando do último evento aplicado.
+ */
+public class Replica implements Closeable {
+
+    private static final long ESPERA_RECONEXAO_MS = 1000;
+
+    // Mensagens do serviço ("Reserva realizada!"...) não interessam na réplica
+    private static final PrintStream DESCARTE = new PrintStream(new OutputStream() {
+        @Override public void write(int b) { }
+        @Override public void write(byte[] b, int off, int len) { }
+    });
+
+    private final String host;
+    private final int porta;
+
+    // 'volatile': trocado de uma vez quando chega um snapshot
+    private volatile HotelService hotel = novoHotel();
+    private long seqAplicada;
+    // Época do primário a que 'seqAplicada' se refere (0 = ainda não sincronizou)
+    private long epoca;
+
+    // Métricas de atraso (lag)
+    private long seqPrimario;
+    private long atrasoNaAplicacao; // agora - horário do evento no primário, medido ao aplicá-lo
+    private long eventosAplicados;
+    private long snapshotsRecebidos;
+    private volatile boolean conectada;
+    private volatile boolean fechada;
+    private volatile Socket socket;
+
+    public Replica(String host, int porta) {
+        this.host = host;
+        this.porta = porta;
+
+        Thread receptor = new Thread(this::replicar, "replicacao-receptor");
+        receptor.setDaemon(true);
+        receptor.start();
+    }
+
+    // --- CONSULTAS (somente leitura) ---
+    // Não travam: o HotelService lista a partir de uma foto imutável, então os eventos
+    // continuam sendo aplicados enquanto um relatório longo está rodando.
+
+    public void listarQuartosDisponiveis() {
+        hotel.listarQuartosDisponiveis(System.out);
+    }
+
+    public void listarHospedes() {
+        hotel.listarHospedes(System.out);
+    }
+
+    public void listarReservasAtivas() {
+        hotel.listarReservasAtivas(System.out);
+    }
+
+    public void listarRelatorioCompleto() {
+        hotel.listarRelatorioCompleto(System.out);
+    }
+
+    public int contarQuartosLivres(LocalDate dia) {
+        return hotel.getCalendario().contarLivres(dia, null);
+    }
+
+    // --- MÉTRICAS ---
+
+    public synchronized long getSequenciaAplicada() { return seqAplicada; }
+
+    public synchronized long getSequenciaPrimario() { return seqPrimario; }
+
+    // Quantos eventos o primário já tem que esta réplica ainda não aplicou
+    public synchronized long getAtrasoEventos() { return Math.max(0, seqPrimario - seqAplicada); }
+
+    /**
+     * Atraso em tempo: quanto tempo se passou entre o evento acontecer no primário e
+     * ser aplicado aqui (medido no último evento aplicado). Zero quando a réplica está em dia.
+     * Usa o relógio das duas máquinas: entre computadores diferentes, eles precisam estar acertados.
+     */
+    public synchronized long getAtrasoMillis() {
+        if (getAtrasoEventos() == 0) return 0;
+        return atrasoNaAplicacao;
+    }
+
+    public synchronized long getEventosAplicados() { return eventosAplicados; }
+
+    public synchronized long getSnapshotsRecebidos() { return snapshotsRecebidos; }
+
+    public boolean isConectada() { return conectada; }
+
+    @Override
+    public void close() throws IOException {
+        fechada = true;
+        Socket s = socket;
+        if (s != null) s.close();
+    }
+
+    // --- RECEPÇÃO ---
+
+    private void replicar() {
+        while (!fechada) {
+            try (Socket s = new Socket(host, porta);
+                 BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                 Writer out = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8)) {
+                socket = s;
+                synchronized (this) {
+                    out.write("REPLICA;" + epoca + ";" + seqAplicada + "\n");
+                }
+                out.flush();
+
+                // PRIMARIO;epoca. Se for diferente da nossa, o primário manda um snapshot;
+                // a época nova só é adotada quando esse snapshot chega inteiro.
+                String resposta = in.readLine();
+                if (resposta == null || !resposta.startsWith("PRIMARIO;")) throw new EOFException("resposta inválida do primário");
+                long epocaPrimario = Long.parseLong(resposta.substring("PRIMARIO;".length()));
+                conectada = true;
+
+                String linha;
+                while ((linha = in.readLine()) != null) {
+                    if (linha.startsWith("SNAPSHOT;")) {
+                        receberSnapshot(in, Long.parseLong(linha.substring("SNAPSHOT;".length())), epocaPrimario);
+                    } else {
+                        processar(linha);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!fechada) System.err.println("Réplica: conexão perdida (" + e.getMessage() + "), tentando de novo...");
+            }
+            conectada = false;
+            esperar(ESPERA_RECONEXAO_MS);
+        }
+    }
+
+    private synchronized void processar(String linha) {
+        String[] partes = linha.split(";", 6);
+        if (partes[0].equals("BATIMENTO")) {
+            seqPrimario = Math.max(seqPrimario, Long.parseLong(partes[1]));
+            return;
+        }
+        // EVENTO;seq;cabeca;horario;TIPO;dados
+        long seq = Long.parseLong(partes[1]);
+        // A cabeça diz até onde o primário já foi, mesmo que este evento seja antigo
+        seqPrimario = Math.max(seqPrimario, Long.parseLong(partes[2]));
+        if (seq <= seqAplicada) return; // já aplicado (ex: reenvio após reconexão)
+
+        ProtocoloReplicacao.aplicar(hotel, partes[4] + ";" + partes[5]);
+        seqAplicada = seq;
+        seqPrimario = Math.max(seqPrimario, seq);
+        atrasoNaAplicacao = Math.max(0, System.currentTimeMillis() - Long.parseLong(partes[3]));
+        eventosAplicados++;
+    }
+
+    /**
+     * Monta o estado do snapshot num HotelService NOVO e só troca no final.
+     * Enquanto isso, as consultas continuam respondendo com o estado antigo.
+     */
+    private void receberSnapshot(BufferedReader in, long seq, long epocaPrimario) throws IOException {
+        HotelService novo = novoHotel();
+        String linha;
+        while ((linha = in.readLine()) != null && !linha.startsWith("FIM_SNAPSHOT;")) {
+            ProtocoloReplicacao.aplicar(novo, linha.substring("ESTADO;".length()));
+        }
+        if (linha == null) throw new EOFException("snapshot incompleto");
+
+        synchronized (this) {
+            hotel = novo;
+            epoca = epocaPrimario;
+            seqAplicada = seq;
+            seqPrimario = seq; // o primário pode ter sido reiniciado com outra numeração
+            atrasoNaAplicacao = 0;
+            snapshotsRecebidos++;
+        }
+    }
+
+    private static HotelService novoHotel() {
+        HotelService h = new HotelService();
+        h.setSaida(DESCARTE);
+        return h;
+    }
+
+    private static void esperar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package service;
+
+import model.Periodo;
+import model.Quarto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CALENDÁRIO DE OCUPAÇÃO (Bitmap por Dia):
+ * Guarda, para cada dia, um "mapa de bits" com um bit por quarto.
+ * Bit ligado = quarto ocupado naquela noite.
+ *
+ * Por que bits?
+ * Perguntas como "ocupação dos próximos 365 dias por tipo de quarto" exigiriam
+ * varrer todas as Reservas para cada dia. Com bitmaps, cada dia é um vetor de 'long'
+ * (64 quartos por posição) e as consultas viram operações AND/NOT e contagem de bits
+ * (Long.bitCount), que o processador faz em uma única instrução.
+ *
+ * Indexação por "Epoch Day":
+ * Em vez de comparar LocalDate (isBefore/isAfter), convertemos a data para um número
+ * (dias desde 1970-01-01) e usamos a diferença como índice do array de dias.
+ *
+ * Quartos "ocupados sem reserva":
+ * Um quarto pode voltar do quartos.txt marcado como ocupado, mas sem Reserva (as reservas
+ * não são salvas), ou seja, sem datas conhecidas. Esses quartos são contados como
+ * OCUPADOS em todos os dias consultados, até o check-out liberá-los, pois o sistema
+ * também recusa reservá-los.
+ *
+ * Limites:
+ * O array de dias não pode crescer sem controle (uma data no ano 999999999 estouraria
+ * a memória). Por isso o calendário cobre no máximo MAXIMO_DIAS dias entre a primeira
+ * e a última noite ocupada AGORA (dias vazios nas pontas são descartados a cada
+ * liberação), e as consultas no máximo MAXIMO_DIAS dias por vez.
+ *
+ * Os métodos são 'synchronized': as consultas levam microssegundos, então podem
+ * esperar a alteração em andamento sem atrasar ninguém de forma perceptível.
+ */
+public class CalendarioOcupacao {
+
+    // Maior estadia aceita (em noites) e maior intervalo coberto pelo calendário (~20 anos).
+    public static final int MAXIMO_NOITES_ESTADIA = 365;
+    public static final int MAXIMO_DIAS = 20 * 366;
+
+    // Cada quarto ganha uma posição fixa (índice do bit) na ordem em que é cadastrado.
+    private final Map<Integer, Integer> indicePorNumero = new HashMap<>();
+    private final List<Integer> numeroPorIndice = new ArrayList<>();
+
+    // Máscaras: quais bits pertencem a cada tipo ("SIMPLES", "LUXO") e a todos os quartos.
+    private final Map<String, long[]> mascaraPorTipo = new HashMap<>();
+    private long[] mascaraTodos = new long[0];
+
+    // Quartos ocupados sem reserva (sem datas): contam como ocupados em qualquer dia.
+    private long[] ocupadosSemReserva = new long[0];
+
+    // dias[i] = bitmap do dia (diaBase + i). Um dia sem nenhuma ocupação fica 'null'.
+    private long[][] dias = new long[0][];
+    private long diaBase;
+
+    // --- MANUTENÇÃO (chamada pelo HotelService) ---
+
+    public synchronized void registrarQuarto(Quarto quarto) {
+        if (indicePorNumero.containsKey(quarto.getNumero())) return;
+
+        int indice = numeroPorIndice.size();
+        indicePorNumero.put(quarto.getNumero(), indice);
+        numeroPorIndice.add(quarto.getNumero());
+
+        mascaraTodos = ligarBit(mascaraTodos, indice);
+        mascaraPorTipo.put(quarto.getTipo(), ligarBit(mascaraPorTipo.get(quarto.getTipo()), indice));
+    }
+
+    /**
+     * Liga/desliga a marca de "ocupado sem reserva" (ex: quarto que voltou ocupado do arquivo).
+     */
+    public synchronized void marcarOcupadoSemReserva(int numeroQuarto, boolean ocupado) {
+        Integer indice = indicePorNumero.get(numeroQuarto);
+        if (indice == null) return;
+        if (ocupado) {
+            ocupadosSemReserva = ligarBit(ocupadosSemReserva, indice);
+        } else if (ocupadosSemReserva.length > (indice >>> 6)) {
+            ocupadosSemReserva[indice >>> 6] &= ~(1L << indice);
+        }
+    }
+
+    /**
+     * Marca o quarto como ocupado em cada noite do período.
+     * A noite da saída não conta (o hóspede sai de manhã), igual a Periodo.getQuantidadeDias().
+     * Lança IllegalArgumentException (sem alterar nada) se a estadia for maior que
+     * MAXIMO_NOITES_ESTADIA ou se o calendário passaria a cobrir mais que MAXIMO_DIAS.
+     */
+    public synchronized void ocupar(int numeroQuarto, Periodo periodo) {
+        if (periodo.getQuantidadeDias() > MAXIMO_NOITES_ESTADIA) {
+            throw new IllegalArgumentException("Estadia maior que " + MAXIMO_NOITES_ESTADIA + " noites!");
+        }
+        Integer indice = indicePorNumero.get(numeroQuarto);
+        if (indice == null || periodo.getQuantidadeDias() <= 0) return;
+
+        long inicio = periodo.getEntrada().toEpochDay();
+        long fim = periodo.getSaida().toEpochDay();
+        garantirIntervalo(inicio, fim - 1);
+
+        int palavra = indice >>> 6;
+        long bit = 1L << indice; // o Java já usa só os 6 bits mais baixos do deslocamento
+        for (long d = inicio; d < fim; d++) {
+            int i = (int) (d - diaBase);
+            long[] dia = dias[i];
+            if (dia == null || dia.length <= palavra) {
+                dia = (dia == null) ? new long[mascaraTodos.length] : Arrays.copyOf(dia, mascaraTodos.length);
+                dias[i] = dia;
+            }
+            dia[palavra] |= bit;
+        }
+    }
+
+    public synchronized void liberar(int numeroQuarto, Periodo periodo) {
+        Integer indice = indicePorNumero.get(numeroQuarto);
+        if (indice == null) return;
+
+        int palavra = indice >>> 6;
+        long bit = 1L << indice;
+        long fim = periodo.getSaida().toEpochDay();
+        for (long d = periodo.getEntrada().toEpochDay(); d < fim; d++) {
+            long[] dia = bitmapDoDia(d);
+            if (dia != null && dia.length > palavra) {
+                dia[palavra] &= ~bit;
+                if (contarBits(dia) == 0) dias[(int) (d - diaBase)] = null; // dia ficou vazio
+            }
+        }
+        aparar();
+    }
+
+    // --- CONSULTAS ---
+    // Em todas elas, 'tipo' pode ser "SIMPLES", "LUXO" ou null (todos os quartos).
+
+    public synchronized int totalQuartos(String tipo) {
+        return contarBits(mascara(tipo));
+    }
+
+    // Quartos marcados como ocupados sem reserva (sem datas conhecidas).
+    public synchronized List<Integer> quartosOcupadosSemReserva() {
+        return numerosDosBits(ocupadosSemReserva);
+    }
+
+    public synchronized int contarOcupados(LocalDate dia, String tipo) {
+        return contarOcupados(dia.toEpochDay(), mascara(tipo));
+    }
+
+    public synchronized int contarLivres(LocalDate dia, String tipo) {
+        long[] mascara = mascara(tipo);
+        return contarBits(mascara) - contarOcupados(dia.toEpochDay(), mascara);
+    }
+
+    /**
+     * Ocupação dia a dia: posição i do retorno = quartos ocupados em (inicio + i).
+     */
+    public synchronized int[] ocupacaoDiaria(LocalDate inicio, int quantidadeDias, String tipo) {
+        validarQuantidadeDias(quantidadeDias);
+        long[] mascara = mascara(tipo);
+        long primeiro = inicio.toEpochDay();
+        int[] resultado = new int[quantidadeDias];
+        for (int i = 0; i < quantidadeDias; i++) {
+            resultado[i] = contarOcupados(primeiro + i, mascara);
+        }
+        return resultado;
+    }
+
+    /**
+     * Ocupação por semana: soma das "noites ocupadas" (quarto x dia) de cada bloco de 7 dias.
+     */
+    public synchronized int[] ocupacaoSemanal(LocalDate inicio, int semanas, String tipo) {
+        // Valida antes de multiplicar, para 'semanas * 7' não estourar o int
+        if (semanas < 0 || semanas > MAXIMO_DIAS / 7) {
+            throw new IllegalArgumentException("Quantidade de semanas deve estar entre 0 e " + MAXIMO_DIAS / 7);
+        }
+        int[] diario = ocupacaoDiaria(inicio, semanas * 7, tipo);
+        int[] resultado = new int[semanas];
+        for (int i = 0; i < diario.length; i++) {
+            resultado[i / 7] += diario[i];
+        }
+        return resultado;
+    }
+
+    /**
+     * Quartos livres em TODAS as noites de [inicio, inicio + noites).
+     * Começa com a máscara do tipo e vai "apagando" (AND NOT) os bits ocupados de cada dia.
+     */
+    public synchronized List<Integer> quartosLivresConsecutivos(LocalDate inicio, int noites, String tipo) {
+        validarQuantidadeDias(noites);
+        long[] livres = mascara(tipo).clone();
+        for (int p = 0; p < Math.min(livres.length, ocupadosSemReserva.length); p++) {
+            livres[p] &= ~ocupadosSemReserva[p];
+        }
+        long primeiro = inicio.toEpochDay();
+        for (int n = 0; n < noites; n++) {
+            long[] dia = bitmapDoDia(primeiro + n);
+            if (dia == null) continue;
+            for (int p = 0; p < Math.min(livres.length, dia.length); p++) {
+                livres[p] &= ~dia[p];
+            }
+        }
+
+        return numerosDosBits(livres);
+    }
+
+    // --- MÉTODOS PRIVADOS (Auxiliares) ---
+
+    private static void validarQuantidadeDias(int quantidadeDias) {
+        if (quantidadeDias < 0 || quantidadeDias > MAXIMO_DIAS) {
+            throw new IllegalArgumentException("Quantidade de dias deve estar entre 0 e " + MAXIMO_DIAS);
+        }
+    }
+
+    // Converte os bits ligados de volta em números de quarto
+    private List<Integer> numerosDosBits(long[] bits) {
+        List<Integer> numeros = new ArrayList<>();
+        for (int p = 0; p < bits.length; p++) {
+            long palavra = bits[p];
+            while (palavra != 0) {
+                int bit = Long.numberOfTrailingZeros(palavra);
+                numeros.add(numeroPorIndice.get((p << 6) + bit));
+                palavra &= palavra - 1; // apaga o bit mais baixo
+            }
+        }
+        return numeros;
+    }
+
+    private long[] mascara(String tipo) {
+        if (tipo == null) return mascaraTodos;
+        long[] mascara = mascaraPorTipo.get(tipo);
+        return (mascara == null) ? new long[0] : mascara;
+    }
+
+    private int contarOcupados(long epochDay, long[] mascara) {
+        long[] dia = bitmapDoDia(epochDay);
+        int total = 0;
+        for (int p = 0; p < mascara.length; p++) {
+            long ocupados = (dia != null && p < dia.length) ? dia[p] : 0;
+            if (p < ocupadosSemReserva.length) ocupados |= ocupadosSemReserva[p];
+            total += Long.bitCount(ocupados & mascara[p]);
+        }
+        return total;
+    }
+
+    private long[] bitmapDoDia(long epochDay) {
+        long i = epochDay - diaBase;
+        return (i < 0 || i >= dias.length) ? null : dias[(int) i];
+    }
+
+    /**
+     * Aumenta o array de dias (para frente ou para trás) até cobrir [primeiro, ultimo].
+     * Recusa (IllegalArgumentException) se o intervalo total passar de MAXIMO_DIAS.
+     */
+    private void garantirIntervalo(long primeiro, long ultimo) {
+        long novaBase = (dias.length == 0) ? primeiro : Math.min(diaBase, primeiro);
+        long novoFim = (dias.length == 0) ? ultimo : Math.max(diaBase + dias.length - 1, ultimo);
+        if (novoFim - novaBase + 1 > MAXIMO_DIAS) {
+            throw new IllegalArgumentException("Data fora do intervalo do calendário (máximo de "
+                    + MAXIMO_DIAS + " dias entre a primeira e a última noite reservada)");
+        }
+        if (dias.length == 0) {
+            diaBase = primeiro;
+            dias = new long[(int) (ultimo - primeiro + 1)][];
+            return;
+        }
+        if (novaBase == diaBase && novoFim == diaBase + dias.length - 1) return;
+
+        long[][] novos = new long[(int) (novoFim - novaBase + 1)][];
+        System.arraycopy(dias, 0, novos, (int) (diaBase - novaBase), dias.length);
+        dias = novos;
+        diaBase = novaBase;
+    }
+
+    /**
+     * Descarta os dias vazios do começo e do fim do array: assim o limite MAXIMO_DIAS vale
+     * para as reservas que ainda existem, e não para a mais antiga que já passou por aqui.
+     */
+    private void aparar() {
+        int primeiro = 0;
+        while (primeiro < dias.length && dias[primeiro] == null) primeiro++;
+        if (primeiro == dias.length) {
+            dias = new long[0][];
+            return;
+        }
+        int ultimo = dias.length - 1;
+        while (dias[ultimo] == null) ultimo--;
+        if (primeiro == 0 && ultimo == dias.length - 1) return;
+
+        dias = Arrays.copyOfRange(dias, primeiro, ultimo + 1);
+        diaBase += primeiro;
+    }
+
+    private static long[] ligarBit(long[] bits, int indice) {
+        int palavra = indice >>> 6;
+        if (bits == null) bits = new long[palavra + 1];
+        if (bits.length <= palavra) bits = Arrays.copyOf(bits, palavra + 1);
+        bits[palavra] |= 1L << indice;
+        return bits;
+    }
+
+    private static int contarBits(long[] bits) {
+        int total = 0;
+        for (long palavra : bits) total += Long.bitCount(palavra);
+        return total;
+    }
+}
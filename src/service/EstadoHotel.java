@@ -0,0 +1,159 @@
+package service;
+
+import model.Hospede;
+import model.Quarto;
+import model.Reserva;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FOTO DO HOTEL (Estado Imutável / "Snapshot"):
+ * Representa quartos, hóspedes e reservas em UM instante. Depois de criada,
+ * uma foto nunca muda: cada alteração no HotelService gera uma foto NOVA.
+ *
+ * Por que isso?
+ * Os relatórios percorrem a foto que pegaram no início, sem trava nenhuma.
+ * Enquanto isso, reservas e check-outs continuam criando fotos novas.
+ * O relatório nunca vê um estado "pela metade" e nunca atrasa uma reserva.
+ *
+ * Como copiar tudo a cada alteração seria caro (1 milhão de hóspedes!),
+ * cada parte usa a estratégia mais barata para o seu tamanho:
+ * - Quartos e hóspedes só crescem: ficam num array compartilhado entre as fotos.
+ *   Cada foto guarda até onde pode ler ('quantidade'); o novo item vai numa posição
+ *   que nenhuma foto antiga enxerga. Só quando o array lota ele é copiado (dobra de tamanho).
+ * - Ocupação dos quartos e reservas ativas são pequenas (no máximo uma por quarto):
+ *   são copiadas inteiras a cada reserva/check-out ("copy-on-write").
+ *
+ * ATENÇÃO: os objetos Quarto são os mesmos do HotelService, e o 'isOcupado' deles
+ * muda no lugar a cada reserva/check-out. Quem lê a foto deve perguntar a ocupação
+ * à FOTO (isOcupado(indice) / getQuartosDisponiveis()), nunca ao Quarto.
+ */
+public final class EstadoHotel {
+
+    private final Quarto[] quartos;
+    private final int quantidadeQuartos;
+    private final boolean[] ocupados; // ocupados[i] = situação de quartos[i] nesta foto
+
+    private final Hospede[] hospedes;
+    private final int quantidadeHospedes;
+
+    private final Reserva[] reservas;
+    private final long versao;
+
+    private EstadoHotel(Quarto[] quartos, int quantidadeQuartos, boolean[] ocupados,
+                        Hospede[] hospedes, int quantidadeHospedes, Reserva[] reservas, long versao) {
+        this.quartos = quartos;
+        this.quantidadeQuartos = quantidadeQuartos;
+        this.ocupados = ocupados;
+        this.hospedes = hospedes;
+        this.quantidadeHospedes = quantidadeHospedes;
+        this.reservas = reservas;
+        this.versao = versao;
+    }
+
+    static EstadoHotel vazio() {
+        return new EstadoHotel(new Quarto[16], 0, new boolean[0], new Hospede[16], 0, new Reserva[0], 0);
+    }
+
+    // --- NOVAS VERSÕES (usadas só pelo HotelService, que faz uma alteração por vez) ---
+
+    EstadoHotel comQuarto(Quarto quarto) {
+        Quarto[] novosQuartos = acrescentar(quartos, quantidadeQuartos, quarto);
+        boolean[] novosOcupados = Arrays.copyOf(ocupados, quantidadeQuartos + 1);
+        novosOcupados[quantidadeQuartos] = quarto.isOcupado();
+        return new EstadoHotel(novosQuartos, quantidadeQuartos + 1, novosOcupados,
+                hospedes, quantidadeHospedes, reservas, versao + 1);
+    }
+
+    EstadoHotel comHospede(Hospede hospede) {
+        return new EstadoHotel(quartos, quantidadeQuartos, ocupados,
+                acrescentar(hospedes, quantidadeHospedes, hospede), quantidadeHospedes + 1, reservas, versao + 1);
+    }
+
+    EstadoHotel comReserva(Reserva reserva, int indiceQuarto) {
+        Reserva[] novasReservas = Arrays.copyOf(reservas, reservas.length + 1);
+        novasReservas[reservas.length] = reserva;
+        return new EstadoHotel(quartos, quantidadeQuartos, marcar(indiceQuarto, true),
+                hospedes, quantidadeHospedes, novasReservas, versao + 1);
+    }
+
+    EstadoHotel semReservasDoQuarto(int indiceQuarto) {
+        int numero = quartos[indiceQuarto].getNumero();
+        List<Reserva> restantes = new ArrayList<>(reservas.length);
+        for (Reserva r : reservas) {
+            if (r.getQuarto().getNumero() != numero) restantes.add(r);
+        }
+        return new EstadoHotel(quartos, quantidadeQuartos, marcar(indiceQuarto, false),
+                hospedes, quantidadeHospedes, restantes.toArray(new Reserva[0]), versao + 1);
+    }
+
+    // --- LEITURA (qualquer thread, sem trava) ---
+
+    public List<Quarto> getQuartos() {
+        return visao(quartos, quantidadeQuartos);
+    }
+
+    // Ocupação do quarto na posição 'indice' de getQuartos(), no instante da foto.
+    public boolean isOcupado(int indice) {
+        if (indice < 0 || indice >= quantidadeQuartos) throw new IndexOutOfBoundsException("Quarto " + indice);
+        return ocupados[indice];
+    }
+
+    public List<Quarto> getQuartosDisponiveis() {
+        List<Quarto> disponiveis = new ArrayList<>();
+        for (int i = 0; i < quantidadeQuartos; i++) {
+            if (!ocupados[i]) disponiveis.add(quartos[i]);
+        }
+        return disponiveis;
+    }
+
+    public List<Hospede> getHospedes() {
+        return visao(hospedes, quantidadeHospedes);
+    }
+
+    public List<Reserva> getReservas() {
+        return visao(reservas, reservas.length);
+    }
+
+    // Número que cresce a cada alteração: duas fotos com a mesma versão são iguais.
+    public long getVersao() {
+        return versao;
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    private boolean[] marcar(int indiceQuarto, boolean ocupado) {
+        boolean[] copia = ocupados.clone();
+        copia[indiceQuarto] = ocupado;
+        return copia;
+    }
+
+    /**
+     * Grava 'item' na posição 'quantidade'. Se ainda há espaço, reaproveita o MESMO array
+     * (as fotos antigas não leem essa posição); se não, cria um array com o dobro do tamanho.
+     */
+    private static <T> T[] acrescentar(T[] array, int quantidade, T item) {
+        T[] destino = (quantidade < array.length) ? array : Arrays.copyOf(array, array.length * 2);
+        destino[quantidade] = item;
+        return destino;
+    }
+
+    // Lista somente leitura sobre as primeiras 'quantidade' posições do array (sem copiar)
+    private static <T> List<T> visao(final T[] array, final int quantidade) {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int indice) {
+                if (indice < 0 || indice >= quantidade) throw new IndexOutOfBoundsException("Índice: " + indice);
+                return array[indice];
+            }
+
+            @Override
+            public int size() {
+                return quantidade;
+            }
+        };
+    }
+}
@@ -1,60 +1,122 @@
 package service;
 
 import model.*;
+import utils.ArquivoHospedesIndexado;
+import java.io.PrintStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SERVICE LAYER (Camada de Serviço):
  * Esta classe atua como o "Gerente" do hotel.
  * Ela contém toda a inteligência e as regras de negócio.
  * A classe Main não sabe validar dados, ela apenas repassa para cá.
+ *
+ * CONCORRÊNCIA:
+ * As alterações (cadastros, reservas, check-outs) são 'synchronized': uma de cada vez.
+ * As leituras (relatórios) NÃO travam: pegam a foto atual (EstadoHotel) e a percorrem,
+ * enquanto novas alterações continuam acontecendo e publicando fotos novas.
  */
 public class HotelService {
     
-    // COLEÇÕES (Collections):
-    // Estamos usando Listas (ArrayList) para simular um banco de dados em memória RAM.
+    // Horizonte máximo da previsão de ocupação (~10 anos)
+    public static final int MAXIMO_SEMANAS_PREVISAO = 520;
+
+    // ESTADO EM MEMÓRIA:
+    // Quartos, hóspedes e reservas ficam numa foto imutável, trocada a cada alteração.
+    // 'volatile' garante que um relatório em outra thread sempre enxergue a foto mais recente.
     // Se fechar o programa sem salvar, esses dados somem (exceto o que salvamos no arquivo).
-    private List<Quarto> quartos;
-    private List<Hospede> hospedes;
-    private List<Reserva> reservas;
+    private volatile EstadoHotel estado;
+
+    // Índices para as buscas por número/CPF não precisarem varrer as listas.
+    // O de hóspedes é concorrente porque consultarHospede pode vir de qualquer thread.
+    private Map<Integer, Integer> indiceQuartoPorNumero;
+    private Map<String, Hospede> hospedesPorCpf;
+
+    // Índice de ocupação dia a dia (bitmaps), mantido junto com as reservas.
+    private CalendarioOcupacao calendario;
+
+    // Modo sob demanda: quando preenchido, os hóspedes ficam no disco (com índice e cache)
+    // em vez de na foto (EstadoHotel). Fica null no modo normal.
+    private volatile ArquivoHospedesIndexado hospedesSobDemanda;
+
+    // PADRÃO OBSERVER: quem quiser ser avisado de cada alteração (ex: replicação)
+    // se registra aqui. O serviço não precisa saber o que cada ouvinte faz.
+    private List<OuvinteAlteracoes> ouvintes = new ArrayList<>();
+
+    // Para onde vão as mensagens do serviço. null = console atual (System.out).
+    private PrintStream saida;
 
     public HotelService() {
-        // Inicialização das listas no construtor para evitar "NullPointerException".
-        this.quartos = new ArrayList<>();
-        this.hospedes = new ArrayList<>();
-        this.reservas = new ArrayList<>();
+        // Inicialização no construtor para evitar "NullPointerException".
+        this.estado = EstadoHotel.vazio();
+        this.indiceQuartoPorNumero = new HashMap<>();
+        this.hospedesPorCpf = new ConcurrentHashMap<>();
+        this.calendario = new CalendarioOcupacao();
     }
 
     // --- CADASTRO ---
 
-    public void cadastrarQuarto(Quarto quarto) {
-        // VALIDAÇÃO COM STREAMS (Java 8):
-        // Antes de cadastrar, varremos a lista para ver se já existe esse número.
-        // 'anyMatch' retorna true se encontrar qualquer quarto com o mesmo número.
-        boolean existe = quartos.stream().anyMatch(q -> q.getNumero() == quarto.getNumero());
+    public synchronized void cadastrarQuarto(Quarto quarto) {
+        // VALIDAÇÃO:
+        // Antes de cadastrar, verificamos no índice se já existe esse número.
+        boolean existe = indiceQuartoPorNumero.containsKey(quarto.getNumero());
         
         if (existe) {
-            System.out.println("Erro: Já existe um quarto com o número " + quarto.getNumero());
+            saida().println("Erro: Já existe um quarto com o número " + quarto.getNumero());
         } else {
-            quartos.add(quarto); // Adiciona na lista se passou na validação.
+            // Adiciona na foto se passou na validação.
+            indiceQuartoPorNumero.put(quarto.getNumero(), estado.getQuartos().size());
+            estado = estado.comQuarto(quarto);
+            calendario.registrarQuarto(quarto);
+            // Quarto que já chega ocupado (ex: do quartos.txt) não tem reserva nem datas:
+            // o calendário conta como ocupado em todos os dias até o check-out.
+            if (quarto.isOcupado()) calendario.marcarOcupadoSemReserva(quarto.getNumero(), true);
+            for (OuvinteAlteracoes o : ouvintes) o.quartoCadastrado(quarto);
             //System.out.println("Quarto " + quarto.getNumero() + " cadastrado com sucesso!");
         }
     }
 
-    public void cadastrarHospede(Hospede hospede) {
-        // Simplesmente adiciona o hóspede na lista.
-        // (Aqui poderíamos adicionar validação de CPF repetido se quiséssemos).
-        hospedes.add(hospede);
+    public synchronized void adicionarOuvinte(OuvinteAlteracoes ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void setSaida(PrintStream saida) {
+        this.saida = saida;
+    }
+
+    // null = usando o console (System.out)
+    public PrintStream getSaida() {
+        return saida;
+    }
+
+    public void usarHospedesSobDemanda(ArquivoHospedesIndexado arquivo) {
+        this.hospedesSobDemanda = arquivo;
+    }
+
+    public synchronized void cadastrarHospede(Hospede hospede) {
+        if (hospedesSobDemanda != null) {
+            // No modo sob demanda o hóspede já vai direto para o arquivo
+            hospedesSobDemanda.adicionar(hospede);
+        } else {
+            // Simplesmente adiciona o hóspede na lista.
+            // (Aqui poderíamos adicionar validação de CPF repetido se quiséssemos).
+            // Com CPF repetido, as buscas continuam achando o primeiro cadastro.
+            hospedesPorCpf.putIfAbsent(hospede.getCpf(), hospede);
+            estado = estado.comHospede(hospede);
+        }
+        for (OuvinteAlteracoes o : ouvintes) o.hospedeCadastrado(hospede);
         //System.out.println("Hóspede " + hospede.getNome() + " cadastrado!");
     }
 
     // --- RESERVAS (O Método mais Complexo) ---
 
-    public void realizarReserva(String cpfHospede, int numeroQuarto, LocalDate entrada, LocalDate saida) {
+    public synchronized void realizarReserva(String cpfHospede, int numeroQuarto, LocalDate entrada, LocalDate saida) {
         
         // BUSCA SEGURA (Optional):
         // Tentamos achar o hóspede e o quarto. O 'Optional' evita que o programa quebre
@@ -63,13 +125,13 @@ public class HotelService {
         
         // Verifica se o hóspede existe no cadastro
         if (!hospedeOpt.isPresent()) {
-            System.out.println("Erro: Hóspede não encontrado.");
+            saida().println("Erro: Hóspede não encontrado.");
             return; // 'return' vazio encerra o método imediatamente
         }
 
         Optional<Quarto> quartoOpt = buscarQuartoPorNumero(numeroQuarto);
         if (!quartoOpt.isPresent()) {
-            System.out.println("Erro: Quarto não encontrado.");
+            saida().println("Erro: Quarto não encontrado.");
             return;
         }
 
@@ -78,8 +140,9 @@ public class HotelService {
         
         // REGRA DE NEGÓCIO: Bloqueio de Quarto Ocupado
         // O sistema impede que se reserve um quarto que já tem gente.
-        if (quarto.isOcupado()) {
-            System.out.println("Erro: Este quarto já está ocupado!");
+        // (A foto é a fonte da ocupação; o Quarto acompanha, mas é alterado no lugar.)
+        if (estado.isOcupado(indiceQuartoPorNumero.get(numeroQuarto))) {
+            saida().println("Erro: Este quarto já está ocupado!");
             return;
         }
 
@@ -88,90 +151,248 @@ public class HotelService {
             // Se as datas forem inválidas (saída antes da entrada), o Periodo lança erro AQUI.
             Periodo periodo = new Periodo(entrada, saida);
             
+            // Marca as noites da estadia no calendário de ocupação.
+            // Vem ANTES de criar a reserva: se a estadia for longa demais (ou fora do
+            // intervalo do calendário) o erro sai aqui e nada foi alterado ainda.
+            calendario.ocupar(numeroQuarto, periodo);
+            
             // Associação: Criamos a reserva ligando as 3 partes (Hóspede, Quarto, Período).
             Reserva novaReserva = new Reserva(hospedeOpt.get(), quarto, periodo);
             
-            // Salva na lista de reservas
-            reservas.add(novaReserva);
+            // Salva na lista de reservas (publica uma foto nova)
+            estado = estado.comReserva(novaReserva, indiceQuartoPorNumero.get(numeroQuarto));
+            for (OuvinteAlteracoes o : ouvintes) o.reservaRealizada(novaReserva);
             
-            System.out.println("Reserva realizada! Total: R$ " + novaReserva.calcularValorTotal());
+            saida().println("Reserva realizada! Total: R$ " + novaReserva.calcularValorTotal());
             
         } catch (IllegalArgumentException e) {
             // TRATAMENTO DE EXCEÇÃO:
             // Se o Periodo reclamar das datas, capturamos o erro e mostramos mensagem amigável.
-            System.out.println("Erro na data: " + e.getMessage());
+            saida().println("Erro na data: " + e.getMessage());
         }
     }
 
-    public void realizarCheckOut(int numeroQuarto) {
+    public synchronized void realizarCheckOut(int numeroQuarto) {
         Optional<Quarto> quartoOpt = buscarQuartoPorNumero(numeroQuarto);
         
-        if (quartoOpt.isPresent() && quartoOpt.get().isOcupado()) {
+        if (quartoOpt.isPresent() && estado.isOcupado(indiceQuartoPorNumero.get(numeroQuarto))) {
             Quarto q = quartoOpt.get();
             
             // 1. Libera o quarto (físico)
             q.setOcupado(false); 
             
-            // 2. CORREÇÃO: Remove a reserva da lista de ativas
+            // 2. Apaga as noites dessas reservas do calendário de ocupação
+            // (e a marca de "ocupado sem reserva", caso o quarto tenha vindo assim do arquivo)
+            calendario.marcarOcupadoSemReserva(numeroQuarto, false);
+            for (Reserva r : estado.getReservas()) {
+                if (r.getQuarto().getNumero() == numeroQuarto) {
+                    calendario.liberar(numeroQuarto, r.getPeriodo());
+                }
+            }
+            
+            // 3. CORREÇÃO: Remove a reserva da lista de ativas
             // Tradução: "Remova da lista SE o número do quarto da reserva for igual ao quarto do checkout"
-            reservas.removeIf(r -> r.getQuarto().getNumero() == numeroQuarto);
+            estado = estado.semReservasDoQuarto(indiceQuartoPorNumero.get(numeroQuarto));
+            for (OuvinteAlteracoes o : ouvintes) o.checkOutRealizado(numeroQuarto);
             
-            System.out.println("Check-out realizado! Quarto " + numeroQuarto + " liberado e reserva removida.");
+            saida().println("Check-out realizado! Quarto " + numeroQuarto + " liberado e reserva removida.");
         } else {
-            System.out.println("Erro: Quarto não está ocupado ou não existe.");
+            saida().println("Erro: Quarto não está ocupado ou não existe.");
         }
     }
 
+    // --- CONSULTAS ---
+
+    // Busca pública por CPF (usada, por exemplo, pelo simulador de carga).
+    public Optional<Hospede> consultarHospede(String cpf) {
+        return buscarHospedePorCpf(cpf);
+    }
+
     // --- RELATÓRIOS ---
+    // Todos leem a foto do momento em que começaram (sem travar as reservas).
+
+    // Foto atual para quem quiser montar a própria exportação.
+    public EstadoHotel getEstado() {
+        return estado;
+    }
+
+    /**
+     * Relatório completo (quartos, hóspedes e reservas) a partir de UMA única foto:
+     * as três seções batem entre si mesmo que reservas aconteçam no meio da listagem.
+     * No modo sob demanda os hóspedes estão no arquivo, e não na foto: o tamanho do
+     * arquivo é guardado junto com a foto e a listagem para nesse ponto.
+     */
+    public void listarRelatorioCompleto(PrintStream destino) {
+        EstadoHotel foto;
+        long limiteHospedes;
+        // Todo cadastro é 'synchronized': nenhum acontece entre as duas leituras
+        synchronized (this) {
+            foto = estado;
+            limiteHospedes = tamanhoArquivoHospedes();
+        }
+        listarRelatorioCompleto(foto, limiteHospedes, destino);
+    }
+
+    /**
+     * Mesmo relatório a partir de uma foto escolhida por quem chama (ex: para conferir o resultado).
+     * No modo sob demanda, os hóspedes vêm do arquivo como ele está AGORA, não da foto.
+     */
+    public void listarRelatorioCompleto(EstadoHotel foto, PrintStream destino) {
+        listarRelatorioCompleto(foto, tamanhoArquivoHospedes(), destino);
+    }
+
+    private void listarRelatorioCompleto(EstadoHotel foto, long limiteHospedes, PrintStream destino) {
+        listarQuartosDisponiveis(foto, destino);
+        listarHospedes(foto, limiteHospedes, destino);
+        listarReservasAtivas(foto, destino);
+    }
 
     public void listarQuartosDisponiveis() {
-        System.out.println("\n--- Quartos Disponíveis ---");
+        listarQuartosDisponiveis(saida());
+    }
+
+    // Versões com destino explícito: permitem mandar o relatório para outro lugar
+    // (console de uma réplica, arquivo de exportação...) sem mexer nas mensagens do serviço.
+    public void listarQuartosDisponiveis(PrintStream destino) {
+        listarQuartosDisponiveis(estado, destino);
+    }
+
+    private void listarQuartosDisponiveis(EstadoHotel foto, PrintStream destino) {
+        destino.println("\n--- Quartos Disponíveis ---");
         
         // FILTRAGEM DE LISTA:
-        // Usa Stream para criar uma sub-lista contendo APENAS quartos não ocupados (!isOcupado).
-        List<Quarto> disponiveis = quartos.stream()
-                .filter(q -> !q.isOcupado())
-                .collect(Collectors.toList());
+        // A foto já sabe quais quartos estavam livres no instante em que foi tirada.
+        List<Quarto> disponiveis = foto.getQuartosDisponiveis();
 
         if (disponiveis.isEmpty()) {
-            System.out.println("Nenhum quarto disponível.");
+            destino.println("Nenhum quarto disponível.");
         } else {
             // Loop for-each para imprimir cada quarto
             for (Quarto q : disponiveis) {
-                System.out.println(q); // Chama automaticamente o toString() do quarto
+                destino.println(q); // Chama automaticamente o toString() do quarto
             }
         }
     }
     
     public void listarHospedes() {
-        System.out.println("\n--- Hóspedes Cadastrados ---");
-        for (Hospede h : hospedes) {
-            System.out.println(h);
+        listarHospedes(saida());
+    }
+
+    public void listarHospedes(PrintStream destino) {
+        listarHospedes(estado, tamanhoArquivoHospedes(), destino);
+        // Estatísticas do cache só na listagem avulsa: não fazem parte de nenhuma foto
+        ArquivoHospedesIndexado arquivo = hospedesSobDemanda;
+        if (arquivo != null) {
+            destino.println("(Cache: " + arquivo.getTamanhoCache() + " em memória | "
+                    + arquivo.getAcertos() + " acertos | " + arquivo.getFalhas() + " falhas)");
+        }
+    }
+
+    // 'limiteArquivo': até que byte do arquivo ler no modo sob demanda (ignorado no modo normal)
+    private void listarHospedes(EstadoHotel foto, long limiteArquivo, PrintStream destino) {
+        destino.println("\n--- Hóspedes Cadastrados ---");
+        ArquivoHospedesIndexado arquivo = hospedesSobDemanda;
+        if (arquivo != null) {
+            arquivo.paraCada(limiteArquivo, destino::println);
+            return;
+        }
+        for (Hospede h : foto.getHospedes()) {
+            destino.println(h);
         }
     }
     
     public void listarReservasAtivas() {
-        System.out.println("\n--- Reservas Ativas ---");
-        for (Reserva r : reservas) {
-            System.out.println(r);
+        listarReservasAtivas(saida());
+    }
+
+    public void listarReservasAtivas(PrintStream destino) {
+        listarReservasAtivas(estado, destino);
+    }
+
+    private void listarReservasAtivas(EstadoHotel foto, PrintStream destino) {
+        destino.println("\n--- Reservas Ativas ---");
+        for (Reserva r : foto.getReservas()) {
+            destino.println(r);
+        }
+    }
+
+    /**
+     * Previsão de ocupação (usa o CalendarioOcupacao):
+     * Mostra, semana a semana, a taxa de ocupação de cada tipo de quarto
+     * e quais quartos ficam livres em todas as noites a partir de 'inicio'.
+     * Quartos ocupados sem reserva (sem datas) contam como ocupados em todo o período.
+     */
+    public void exibirPrevisaoOcupacao(LocalDate inicio, int semanas, int noitesSeguidas) {
+        if (semanas <= 0 || semanas > MAXIMO_SEMANAS_PREVISAO) {
+            saida().println("Erro: A quantidade de semanas deve estar entre 1 e " + MAXIMO_SEMANAS_PREVISAO + ".");
+            return;
+        }
+        if (noitesSeguidas < 0 || noitesSeguidas > CalendarioOcupacao.MAXIMO_NOITES_ESTADIA) {
+            saida().println("Erro: As noites seguidas devem estar entre 0 e "
+                    + CalendarioOcupacao.MAXIMO_NOITES_ESTADIA + ".");
+            return;
+        }
+
+        saida().println("\n--- Previsão de Ocupação ---");
+        String[] tipos = {"SIMPLES", "LUXO"};
+        int[][] semanal = new int[tipos.length][];
+        for (int t = 0; t < tipos.length; t++) {
+            semanal[t] = calendario.ocupacaoSemanal(inicio, semanas, tipos[t]);
+        }
+
+        for (int s = 0; s < semanas; s++) {
+            StringBuilder linha = new StringBuilder("Semana de " + inicio.plusWeeks(s) + ":");
+            for (int t = 0; t < tipos.length; t++) {
+                // Capacidade da semana = quantidade de quartos do tipo x 7 noites
+                int capacidade = calendario.totalQuartos(tipos[t]) * 7;
+                double taxa = (capacidade == 0) ? 0 : 100.0 * semanal[t][s] / capacidade;
+                linha.append(String.format(" | %s %.1f%%", tipos[t], taxa));
+            }
+            saida().println(linha);
+        }
+
+        List<Integer> livres = calendario.quartosLivresConsecutivos(inicio, noitesSeguidas, null);
+        saida().println("Quartos livres por " + noitesSeguidas + " noites seguidas a partir de "
+                + inicio + ": " + (livres.isEmpty() ? "nenhum" : livres));
+
+        List<Integer> semReserva = calendario.quartosOcupadosSemReserva();
+        if (!semReserva.isEmpty()) {
+            saida().println("Ocupados sem reserva (contados como ocupados em todas as semanas): " + semReserva);
         }
     }
 
     // --- MÉTODOS PRIVADOS (Auxiliares) ---
     // São privados porque só interessam ao Service, a Main não precisa vê-los.
     
+    private PrintStream saida() {
+        return (saida != null) ? saida : System.out;
+    }
+
+    // Tamanho atual do arquivo de hóspedes no modo sob demanda (0 no modo normal)
+    private long tamanhoArquivoHospedes() {
+        ArquivoHospedesIndexado arquivo = hospedesSobDemanda;
+        return (arquivo == null) ? 0 : arquivo.tamanho();
+    }
+
     private Optional<Hospede> buscarHospedePorCpf(String cpf) {
-        // Varre a lista procurando um CPF igual ao informado
-        return hospedes.stream().filter(h -> h.getCpf().equals(cpf)).findFirst();
+        // Modo sob demanda: consulta o índice em disco (passando pelo cache LRU)
+        if (hospedesSobDemanda != null) return hospedesSobDemanda.buscar(cpf);
+
+        // Consulta o índice por CPF (em vez de varrer a lista inteira)
+        return Optional.ofNullable(hospedesPorCpf.get(cpf));
     }
 
     private Optional<Quarto> buscarQuartoPorNumero(int numero) {
-        // Varre a lista procurando um Número igual ao informado
-        return quartos.stream().filter(q -> q.getNumero() == numero).findFirst();
+        // O índice diz em que posição da lista de quartos está esse número
+        Integer indice = indiceQuartoPorNumero.get(numero);
+        return (indice == null) ? Optional.empty() : Optional.of(estado.getQuartos().get(indice));
     }
         
-    public List<Hospede> getHospedes() { return hospedes; }
+    // Listas da foto atual (somente leitura)
+    public List<Hospede> getHospedes() { return estado.getHospedes(); }
     
     // Esse aqui é OBRIGATÓRIO para salvar os quartos
-    public List<Quarto> getQuartos() { return quartos; }
+    public List<Quarto> getQuartos() { return estado.getQuartos(); }
+
+    public CalendarioOcupacao getCalendario() { return calendario; }
 }
@@ -0,0 +1,22 @@
+package service;
+
+import model.Hospede;
+import model.Quarto;
+import model.Reserva;
+
+/**
+ * INTERFACE (Padrão Observer):
+ * Contrato para quem precisa ser avisado de cada alteração feita no HotelService.
+ * Os avisos chegam SOMENTE depois que a operação deu certo, na mesma ordem
+ * em que aconteceram (ex: a replicação envia essa sequência para as réplicas).
+ */
+public interface OuvinteAlteracoes {
+
+    void quartoCadastrado(Quarto quarto);
+
+    void hospedeCadastrado(Hospede hospede);
+
+    void reservaRealizada(Reserva reserva);
+
+    void checkOutRealizado(int numeroQuarto);
+}
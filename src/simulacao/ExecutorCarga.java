@@ -0,0 +1,65 @@
+package simulacao;
+
+import service.HotelService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SIMULAÇÃO - Executor de Carga:
+ * Dispara as operações do gerador contra o HotelService numa taxa fixa
+ * (ex: 5000 operações por segundo) e mede quanto cada uma demorou.
+ *
+ * Latência medida a partir do horário PLANEJADO da operação, e não de quando ela
+ * realmente começou: se o sistema atrasar, as operações seguintes "esperam na fila"
+ * e esse tempo de espera entra na medida, como aconteceria com clientes reais.
+ */
+public class ExecutorCarga {
+
+    /**
+     * @param aquecimento         operações executadas antes da medição (aquece o JIT), sem limite de taxa
+     * @param quantidade          operações medidas
+     * @param operacoesPorSegundo taxa alvo; 0 ou negativo = o mais rápido possível
+     */
+    public static ResultadoCarga executar(HotelService hotel, Iterator<Operacao> operacoes,
+                                          int aquecimento, int quantidade, double operacoesPorSegundo) {
+        // O HotelService escreve mensagens a cada operação. Durante a carga elas são
+        // descartadas (só neste hotel; o System.out do resto do programa continua igual)
+        // para não medir a velocidade do terminal.
+        PrintStream saidaOriginal = hotel.getSaida();
+        hotel.setSaida(new PrintStream(new OutputStream() {
+            @Override public void write(int b) { }
+            @Override public void write(byte[] b, int off, int len) { }
+        }));
+
+        ResultadoCarga resultado = new ResultadoCarga();
+        try {
+            for (int i = 0; i < aquecimento; i++) {
+                operacoes.next().executar(hotel);
+            }
+
+            long intervalo = (operacoesPorSegundo > 0) ? (long) (1e9 / operacoesPorSegundo) : 0;
+            long inicio = System.nanoTime();
+            for (int i = 0; i < quantidade; i++) {
+                Operacao op = operacoes.next();
+
+                long planejado = inicio + i * intervalo;
+                long agora = System.nanoTime();
+                while (agora < planejado) {
+                    LockSupport.parkNanos(planejado - agora);
+                    agora = System.nanoTime();
+                }
+                long partida = (intervalo > 0) ? planejado : agora;
+
+                boolean sucesso = op.executar(hotel);
+                resultado.registrar(op.getTipo(), System.nanoTime() - partida, sucesso);
+            }
+            resultado.finalizar(System.nanoTime() - inicio);
+        } finally {
+            hotel.setSaida(saidaOriginal);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,199 @@
+package simulacao;
+
+import model.Quarto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * SIMULAÇÃO - Gerador de Carga:
+ * Produz uma sequência infinita (Iterator) de operações parecida com o movimento real
+ * de um hotel, dia após dia:
+ * 1. Check-outs dos hóspedes cuja estadia termina hoje.
+ * 2. Chegadas (reservas) em quantidade que varia com a estação do ano e o dia da semana.
+ * 3. Consultas (hóspede por CPF e disponibilidade) misturadas às reservas.
+ *
+ * O gerador mantém a própria "cópia" de quais quartos estão ocupados, então só reserva
+ * quartos livres e só faz check-out de quartos ocupados (como um recepcionista faria).
+ * Com a mesma semente, a sequência gerada é sempre a mesma.
+ */
+public class GeradorCarga implements Iterator<Operacao> {
+
+    // Estadia: distribuição log-normal (a maioria fica 1-3 noites, poucos ficam semanas)
+    private static final double MEDIANA_ESTADIA = 2.2;
+    private static final double DISPERSAO_ESTADIA = 0.55;
+    private static final int ESTADIA_MAXIMA = 21;
+    private static final double ESTADIA_MEDIA = 2.6; // média aproximada da distribuição acima
+
+    // 1% dos hóspedes ("clientes frequentes") recebe 30% das operações
+    private static final double PROPORCAO_FREQUENTES = 0.01;
+    private static final double CHANCE_FREQUENTE = 0.3;
+
+    private final Random random;
+    private final int quantidadeHospedes;
+    private final double ocupacaoAlvo;
+    private final double consultasPorReserva;
+
+    // Quartos livres por categoria (vetores com remoção por troca com o último: O(1))
+    private final int[] livresSimples;
+    private final int[] livresLuxo;
+    private int quantidadeLivresSimples;
+    private int quantidadeLivresLuxo;
+    private final Set<Integer> quartosLuxo = new HashSet<>();
+    private final int totalQuartos;
+
+    // Dia da saída (epoch day) -> quartos que fazem check-out nesse dia
+    private final Map<Long, List<Integer>> saidasPorDia = new HashMap<>();
+
+    private final Deque<Operacao> pendentes = new ArrayDeque<>();
+    private LocalDate dia;
+
+    /**
+     * @param quartos             quartos cadastrados no hotel (todos livres no início)
+     * @param quantidadeHospedes  hóspedes gerados pelo GeradorDados (CPFs 0..n-1)
+     * @param inicio              primeiro dia simulado
+     * @param ocupacaoAlvo        ocupação média desejada (ex: 0.75 = 75%)
+     * @param consultasPorReserva média de consultas feitas para cada reserva
+     */
+    public GeradorCarga(List<Quarto> quartos, int quantidadeHospedes, LocalDate inicio,
+                        double ocupacaoAlvo, double consultasPorReserva, long semente) {
+        this.random = new Random(semente);
+        this.quantidadeHospedes = quantidadeHospedes;
+        this.ocupacaoAlvo = ocupacaoAlvo;
+        this.consultasPorReserva = consultasPorReserva;
+        this.dia = inicio;
+        this.totalQuartos = quartos.size();
+
+        this.livresSimples = new int[quartos.size()];
+        this.livresLuxo = new int[quartos.size()];
+        for (Quarto q : quartos) {
+            if (q.getTipo().equals("LUXO")) {
+                quartosLuxo.add(q.getNumero());
+                livresLuxo[quantidadeLivresLuxo++] = q.getNumero();
+            } else {
+                livresSimples[quantidadeLivresSimples++] = q.getNumero();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true; // Sequência infinita: quem usa decide quantas operações pegar
+    }
+
+    @Override
+    public Operacao next() {
+        while (pendentes.isEmpty()) {
+            gerarDia();
+        }
+        return pendentes.poll();
+    }
+
+    // --- SIMULAÇÃO DE UM DIA ---
+
+    private void gerarDia() {
+        // 1. Check-outs de hoje (liberam os quartos antes das novas chegadas)
+        List<Integer> saidas = saidasPorDia.remove(dia.toEpochDay());
+        if (saidas != null) {
+            for (int numero : saidas) {
+                pendentes.add(Operacao.checkOut(numero));
+                liberar(numero);
+            }
+        }
+
+        // 2. Chegadas: fluxo médio que mantém a ocupação alvo, ajustado pela sazonalidade
+        double chegadasEsperadas = totalQuartos * ocupacaoAlvo / ESTADIA_MEDIA * sazonalidade(dia);
+        int chegadas = sortearPoisson(chegadasEsperadas);
+
+        for (int i = 0; i < chegadas; i++) {
+            int noites = sortearEstadia();
+            LocalDate saida = dia.plusDays(noites);
+
+            // Antes de reservar, o cliente costuma pesquisar (disponibilidade, cadastro)
+            int consultas = sortearPoisson(consultasPorReserva);
+            for (int c = 0; c < consultas; c++) {
+                pendentes.add(random.nextBoolean()
+                        ? Operacao.consultaHospede(sortearCpf())
+                        : Operacao.consultaDisponibilidade(dia, saida));
+            }
+
+            // Procura pela categoria na proporção do hotel; se acabou, tenta a outra
+            boolean querLuxo = random.nextDouble() < (double) quartosLuxo.size() / Math.max(1, totalQuartos);
+            int numero = ocupar(querLuxo);
+            if (numero < 0) numero = ocupar(!querLuxo);
+            if (numero < 0) continue; // Hotel lotado: o cliente só consultou e foi embora
+
+            pendentes.add(Operacao.reserva(sortearCpf(), numero, dia, saida));
+            saidasPorDia.computeIfAbsent(saida.toEpochDay(), d -> new ArrayList<>()).add(numero);
+        }
+
+        dia = dia.plusDays(1);
+    }
+
+    /**
+     * Sazonalidade: alta temporada no verão (janeiro) e mais chegadas na sexta e no sábado.
+     */
+    private static double sazonalidade(LocalDate dia) {
+        double fator = 1 + 0.3 * Math.cos(2 * Math.PI * (dia.getDayOfYear() - 15) / 365.0);
+        DayOfWeek diaSemana = dia.getDayOfWeek();
+        if (diaSemana == DayOfWeek.FRIDAY || diaSemana == DayOfWeek.SATURDAY) {
+            fator *= 1.2;
+        }
+        return fator;
+    }
+
+    // --- SORTEIOS ---
+
+    private int sortearEstadia() {
+        double noites = Math.exp(Math.log(MEDIANA_ESTADIA) + DISPERSAO_ESTADIA * random.nextGaussian());
+        return (int) Math.max(1, Math.min(ESTADIA_MAXIMA, Math.round(noites)));
+    }
+
+    private String sortearCpf() {
+        int frequentes = Math.max(1, (int) (quantidadeHospedes * PROPORCAO_FREQUENTES));
+        int indice = (random.nextDouble() < CHANCE_FREQUENTE)
+                ? random.nextInt(frequentes)
+                : random.nextInt(quantidadeHospedes);
+        return GeradorDados.cpf(indice);
+    }
+
+    /**
+     * Distribuição de Poisson (número de eventos num intervalo).
+     * Para médias grandes usa a aproximação pela Normal, que é mais rápida.
+     */
+    private int sortearPoisson(double media) {
+        if (media > 30) {
+            return (int) Math.max(0, Math.round(media + Math.sqrt(media) * random.nextGaussian()));
+        }
+        double limite = Math.exp(-media);
+        double produto = random.nextDouble();
+        int k = 0;
+        while (produto > limite) {
+            produto *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    // --- CONTROLE DE QUARTOS LIVRES ---
+
+    // Sorteia um quarto livre da categoria e o marca como ocupado. Retorna -1 se não houver.
+    private int ocupar(boolean luxo) {
+        int[] livres = luxo ? livresLuxo : livresSimples;
+        int quantidade = luxo ? quantidadeLivresLuxo : quantidadeLivresSimples;
+        if (quantidade == 0) return -1;
+
+        int posicao = random.nextInt(quantidade);
+        int numero = livres[posicao];
+        livres[posicao] = livres[quantidade - 1];
+        if (luxo) quantidadeLivresLuxo--;
+        else quantidadeLivresSimples--;
+        return numero;
+    }
+
+    private void liberar(int numero) {
+        if (quartosLuxo.contains(numero)) livresLuxo[quantidadeLivresLuxo++] = numero;
+        else livresSimples[quantidadeLivresSimples++] = numero;
+    }
+}
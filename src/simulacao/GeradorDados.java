@@ -0,0 +1,114 @@
+package simulacao;
+
+import model.Hospede;
+import model.Quarto;
+import model.QuartoLuxo;
+import model.QuartoSimples;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SIMULAÇÃO - Gerador de Dados (Fixtures):
+ * Cria arquivos quartos.txt e hospedes.txt grandes, no MESMO formato do
+ * GerenciadorArquivos, para testes de desempenho e planejamento de capacidade.
+ *
+ * Determinístico: a mesma semente sempre gera exatamente os mesmos arquivos.
+ */
+public class GeradorDados {
+
+    private static final String[] NOMES = {
+        "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique",
+        "Isabela", "João", "Larissa", "Lucas", "Mariana", "Mateus", "Natália", "Pedro",
+        "Rafaela", "Rodrigo", "Sofia", "Thiago", "Vitória", "Fernando"
+    };
+
+    private static final String[] SOBRENOMES = {
+        "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira",
+        "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+        "Soares", "Fernandes", "Vieira", "Barbosa"
+    };
+
+    // Proporção de quartos de luxo no hotel gerado
+    private static final double PROPORCAO_LUXO = 0.2;
+
+    /**
+     * Gera 'quantidade' quartos numerados por andar (101, 102, ..., 201, ...),
+     * com 40 quartos por andar e preços variando por categoria.
+     */
+    public static List<Quarto> gerarQuartos(int quantidade, long semente) {
+        Random random = new Random(semente);
+        List<Quarto> quartos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int numero = (i / 40 + 1) * 100 + (i % 40 + 1);
+            if (random.nextDouble() < PROPORCAO_LUXO) {
+                quartos.add(new QuartoLuxo(numero, 250 + random.nextInt(16) * 10));
+            } else {
+                quartos.add(new QuartoSimples(numero, 120 + random.nextInt(9) * 10));
+            }
+        }
+        return quartos;
+    }
+
+    /**
+     * CPF do i-ésimo hóspede gerado. Como é calculado a partir do índice,
+     * o GeradorCarga consegue sortear hóspedes existentes sem guardar a lista.
+     */
+    public static String cpf(int indice) {
+        // Multiplicar por um número sem fatores 2 e 5 "embaralha" os índices sem repetir (mod 10^9)
+        long base = (indice * 387420489L) % 1_000_000_000L;
+        int[] d = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            d[i] = (int) (base % 10);
+            base /= 10;
+        }
+        d[9] = digitoVerificador(d, 9);
+        d[10] = digitoVerificador(d, 10);
+        return String.format("%d%d%d.%d%d%d.%d%d%d-%d%d", d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7], d[8], d[9], d[10]);
+    }
+
+    public static Hospede gerarHospede(int indice, Random random) {
+        String nome = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+        String telefone = String.format("9%04d-%04d", random.nextInt(10000), random.nextInt(10000));
+        return new Hospede(nome, cpf(indice), telefone);
+    }
+
+    /**
+     * Escreve os dois arquivos na pasta indicada.
+     * Os hóspedes são gravados linha a linha (streaming), sem montar a lista na memória.
+     */
+    public static void gerarArquivos(String pasta, int quantidadeQuartos, int quantidadeHospedes, long semente)
+            throws IOException {
+        new File(pasta).mkdirs();
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(pasta, "quartos.txt")))) {
+            for (Quarto q : gerarQuartos(quantidadeQuartos, semente)) {
+                writer.write(q.toCSV());
+                writer.newLine();
+            }
+        }
+
+        Random random = new Random(semente);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(pasta, "hospedes.txt")), 1 << 16)) {
+            for (int i = 0; i < quantidadeHospedes; i++) {
+                writer.write(gerarHospede(i, random).toCSV());
+                writer.newLine();
+            }
+        }
+    }
+
+    // Regra oficial do CPF: soma ponderada dos dígitos anteriores, módulo 11.
+    private static int digitoVerificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = soma % 11;
+        return (resto < 2) ? 0 : 11 - resto;
+    }
+}
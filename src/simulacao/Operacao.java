@@ -0,0 +1,94 @@
+package simulacao;
+
+import service.HotelService;
+
+import java.time.LocalDate;
+
+/**
+ * SIMULAÇÃO - Operação:
+ * Uma ação de um "cliente" do hotel, pronta para ser executada no HotelService.
+ * É criada pelo GeradorCarga e disparada pelo ExecutorCarga.
+ */
+public class Operacao {
+
+    public enum Tipo { RESERVA, CHECKOUT, CONSULTA_HOSPEDE, CONSULTA_DISPONIBILIDADE }
+
+    private final Tipo tipo;
+    private final String cpf;
+    private final int numeroQuarto;
+    private final LocalDate entrada;
+    private final LocalDate saida;
+
+    private Operacao(Tipo tipo, String cpf, int numeroQuarto, LocalDate entrada, LocalDate saida) {
+        this.tipo = tipo;
+        this.cpf = cpf;
+        this.numeroQuarto = numeroQuarto;
+        this.entrada = entrada;
+        this.saida = saida;
+    }
+
+    // --- FÁBRICAS (uma para cada tipo de operação) ---
+
+    public static Operacao reserva(String cpf, int numeroQuarto, LocalDate entrada, LocalDate saida) {
+        return new Operacao(Tipo.RESERVA, cpf, numeroQuarto, entrada, saida);
+    }
+
+    public static Operacao checkOut(int numeroQuarto) {
+        return new Operacao(Tipo.CHECKOUT, null, numeroQuarto, null, null);
+    }
+
+    public static Operacao consultaHospede(String cpf) {
+        return new Operacao(Tipo.CONSULTA_HOSPEDE, cpf, 0, null, null);
+    }
+
+    // "Quais quartos estão livres em todas as noites de [entrada, saida)?"
+    public static Operacao consultaDisponibilidade(LocalDate entrada, LocalDate saida) {
+        return new Operacao(Tipo.CONSULTA_DISPONIBILIDADE, null, 0, entrada, saida);
+    }
+
+    /**
+     * Executa a operação e diz se ela deu certo.
+     * Reserva e check-out só avisam erros por mensagem (que a carga descarta), então o
+     * sucesso é medido pela versão da foto: se ela não mudou, o serviço recusou a operação.
+     * Vale enquanto quem executa a carga é o único a alterar o hotel, como nas simulações.
+     */
+    public boolean executar(HotelService hotel) {
+        long versao = hotel.getEstado().getVersao();
+        switch (tipo) {
+            case RESERVA:
+                hotel.realizarReserva(cpf, numeroQuarto, entrada, saida);
+                return hotel.getEstado().getVersao() != versao;
+            case CHECKOUT:
+                hotel.realizarCheckOut(numeroQuarto);
+                return hotel.getEstado().getVersao() != versao;
+            case CONSULTA_HOSPEDE:
+                return hotel.consultarHospede(cpf).isPresent();
+            default:
+                int noites = (int) (saida.toEpochDay() - entrada.toEpochDay());
+                try {
+                    hotel.getCalendario().quartosLivresConsecutivos(entrada, noites, null);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+        }
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public String toString() {
+        switch (tipo) {
+            case RESERVA:
+                return "RESERVA " + cpf + " quarto " + numeroQuarto + " " + entrada + " -> " + saida;
+            case CHECKOUT:
+                return "CHECKOUT quarto " + numeroQuarto;
+            case CONSULTA_HOSPEDE:
+                return "CONSULTA_HOSPEDE " + cpf;
+            default:
+                return "CONSULTA_DISPONIBILIDADE " + entrada + " -> " + saida;
+        }
+    }
+}
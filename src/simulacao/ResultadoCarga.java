@@ -0,0 +1,113 @@
+package simulacao;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * SIMULAÇÃO - Resultado de uma execução:
+ * Guarda a latência (em nanossegundos) de cada operação, separada por tipo,
+ * e calcula vazão (operações por segundo) e percentis (p50, p99...).
+ * Operações recusadas pelo serviço (ex: quarto ocupado) também entram na latência,
+ * mas são contadas como falhas, para que uma carga cheia de erros não pareça limpa.
+ */
+public class ResultadoCarga {
+
+    private final Map<Operacao.Tipo, long[]> latencias = new EnumMap<>(Operacao.Tipo.class);
+    private final Map<Operacao.Tipo, Integer> quantidades = new EnumMap<>(Operacao.Tipo.class);
+    private final Map<Operacao.Tipo, Integer> falhas = new EnumMap<>(Operacao.Tipo.class);
+    private long[] todas = new long[0]; // todas as latências juntas, ordenadas em finalizar()
+    private long duracaoNanos;
+
+    void registrar(Operacao.Tipo tipo, long latenciaNanos, boolean sucesso) {
+        if (!sucesso) falhas.merge(tipo, 1, Integer::sum);
+        int n = quantidades.getOrDefault(tipo, 0);
+        long[] valores = latencias.get(tipo);
+        if (valores == null || valores.length == n) {
+            valores = (valores == null) ? new long[1024] : Arrays.copyOf(valores, n * 2);
+            latencias.put(tipo, valores);
+        }
+        valores[n] = latenciaNanos;
+        quantidades.put(tipo, n + 1);
+    }
+
+    void finalizar(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+        // Ordena uma única vez; depois cada percentil é só um acesso ao array
+        for (Map.Entry<Operacao.Tipo, long[]> e : latencias.entrySet()) {
+            Arrays.sort(e.getValue(), 0, quantidades.get(e.getKey()));
+        }
+        todas = juntarTodas();
+    }
+
+    public int getQuantidade() {
+        int total = 0;
+        for (int n : quantidades.values()) total += n;
+        return total;
+    }
+
+    public double getVazao() {
+        return getQuantidade() / (duracaoNanos / 1e9);
+    }
+
+    // Falhas de um tipo (ou de todos, com tipo == null)
+    public int getFalhas(Operacao.Tipo tipo) {
+        if (tipo != null) return falhas.getOrDefault(tipo, 0);
+        int total = 0;
+        for (int n : falhas.values()) total += n;
+        return total;
+    }
+
+    /**
+     * Percentil de latência em microssegundos (p entre 0 e 100).
+     * Com tipo == null considera todas as operações.
+     */
+    public double percentil(Operacao.Tipo tipo, double p) {
+        long[] valores;
+        int n;
+        if (tipo != null) {
+            valores = latencias.get(tipo);
+            n = quantidades.getOrDefault(tipo, 0);
+        } else {
+            valores = todas;
+            n = valores.length;
+        }
+        if (n == 0) return 0;
+        int posicao = (int) Math.min(n - 1, Math.ceil(p / 100.0 * n) - 1);
+        return valores[Math.max(0, posicao)] / 1000.0;
+    }
+
+    private long[] juntarTodas() {
+        long[] juntas = new long[getQuantidade()];
+        int i = 0;
+        for (Map.Entry<Operacao.Tipo, long[]> e : latencias.entrySet()) {
+            int n = quantidades.get(e.getKey());
+            System.arraycopy(e.getValue(), 0, juntas, i, n);
+            i += n;
+        }
+        Arrays.sort(juntas);
+        return juntas;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Operações: %d em %.2f s | Vazão: %.0f ops/s | Falhas: %d (%.1f%%)%n",
+                getQuantidade(), duracaoNanos / 1e9, getVazao(), getFalhas(null),
+                getQuantidade() == 0 ? 0 : 100.0 * getFalhas(null) / getQuantidade()));
+        sb.append(String.format("%-26s %9s %9s %9s %9s %9s %9s %9s%n",
+                "Latência (µs)", "qtd", "falhas", "p50", "p90", "p99", "p99.9", "máx"));
+        linha(sb, "TODAS", null);
+        for (Operacao.Tipo tipo : Operacao.Tipo.values()) {
+            if (quantidades.containsKey(tipo)) linha(sb, tipo.name(), tipo);
+        }
+        return sb.toString();
+    }
+
+    private void linha(StringBuilder sb, String nome, Operacao.Tipo tipo) {
+        int n = (tipo == null) ? getQuantidade() : quantidades.get(tipo);
+        sb.append(String.format("%-26s %9d %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n", nome, n, getFalhas(tipo),
+                percentil(tipo, 50), percentil(tipo, 90), percentil(tipo, 99),
+                percentil(tipo, 99.9), percentil(tipo, 100)));
+    }
+}
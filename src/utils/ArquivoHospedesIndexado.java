@@ -0,0 +1,411 @@
+package utils;
+
+import model.Hospede;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * UTILS - Hóspedes Sob Demanda (Carregamento Preguiçoso / "Lazy Loading"):
+ * Em vez de ler o hospedes.txt inteiro para a memória na inicialização,
+ * esta classe mantém apenas um ÍNDICE (CPF -> posição da linha no arquivo)
+ * e lê cada hóspede do disco somente quando alguém pede por ele.
+ *
+ * Peças principais:
+ * 1. Índice em disco (hospedes.idx): entradas de 12 bytes [hash do CPF | posição],
+ *    ordenadas pelo hash. O arquivo é mapeado na memória (mmap) e consultado com
+ *    busca binária, então abrir o sistema não depende da quantidade de hóspedes.
+ * 2. Leitura posicional: vai direto ao byte da linha (FileChannel.read com posição).
+ * 3. Cache LRU: os últimos hóspedes usados ficam na memória, com limite de tamanho.
+ *
+ * O índice guarda o tamanho e a data de modificação do .txt. Se o .txt foi alterado
+ * por fora (ex: salvo pelo modo normal), o índice é reconstruído automaticamente.
+ */
+public class ArquivoHospedesIndexado {
+
+    private static final long ASSINATURA = 0x484F5350494458L; // "HOSPIDX"
+    private static final int TAMANHO_CABECALHO = 8 + 8 + 8 + 4;
+    private static final int TAMANHO_ENTRADA = 4 + 8;
+
+    // Mesma codificação usada pelo FileWriter/FileReader do GerenciadorArquivos.
+    private static final Charset CODIFICACAO = Charset.defaultCharset();
+
+    private final File arquivoDados;
+    private final File arquivoIndice;
+    private final RandomAccessFile dados;
+
+    // Índice persistido (somente leitura) + hóspedes cadastrados nesta sessão.
+    private MappedByteBuffer indice;
+    private int quantidadeIndexada;
+    private final Map<String, Long> novos = new HashMap<>();
+
+    // LinkedHashMap com 'accessOrder = true' mantém os itens do menos para o mais usado.
+    // Basta remover o mais antigo quando passar do limite para ter um cache LRU.
+    private final Map<String, Hospede> cache;
+    private long acertos;
+    private long falhas;
+
+    public ArquivoHospedesIndexado(String caminhoDados, String caminhoIndice, final int capacidadeCache)
+            throws IOException {
+        this.arquivoDados = new File(caminhoDados);
+        this.arquivoIndice = new File(caminhoIndice);
+        this.cache = new LinkedHashMap<String, Hospede>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Hospede> maisAntigo) {
+                return size() > capacidadeCache;
+            }
+        };
+
+        this.dados = new RandomAccessFile(arquivoDados, "rw");
+        concluirTrocaPendente();
+        if (!indiceValido(arquivoIndice)) {
+            reconstruirIndice();
+        }
+        mapearIndice();
+    }
+
+    // --- CONSULTA ---
+
+    public synchronized Optional<Hospede> buscar(String cpf) {
+        Hospede emCache = cache.get(cpf);
+        if (emCache != null) {
+            acertos++;
+            return Optional.of(emCache);
+        }
+        falhas++;
+
+        try {
+            Hospede hospede = buscarNoIndice(cpf);
+            if (hospede == null && novos.containsKey(cpf)) {
+                hospede = lerRegistro(novos.get(cpf));
+            }
+            if (hospede != null) cache.put(cpf, hospede);
+            return Optional.ofNullable(hospede);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler hóspede: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Percorre o arquivo inteiro em sequência (usado pelo relatório de hóspedes).
+     * Não passa pelo cache, para que uma listagem não expulse os hóspedes "quentes".
+     * Lê só até o tamanho que o arquivo tinha no início: cadastros feitos durante a
+     * listagem (gravados no fim) ficam de fora, como numa foto daquele instante.
+     */
+    public void paraCada(Consumer<Hospede> acao) {
+        paraCada(tamanho(), acao);
+    }
+
+    // Mesma coisa, mas até um tamanho (em bytes) guardado antes por quem chama (ver tamanho())
+    public void paraCada(long limite, Consumer<Hospede> acao) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                limitar(new FileInputStream(arquivoDados), limite), CODIFICACAO))) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                Hospede h = GerenciadorArquivos.lerHospede(linha);
+                if (h != null) acao.accept(h);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao percorrer hóspedes: " + e.getMessage());
+        }
+    }
+
+    // --- CADASTRO ---
+
+    /**
+     * Grava o hóspede no fim do arquivo na hora (append) e guarda sua posição.
+     * Como no modo normal, se o CPF já existir o primeiro cadastro continua valendo.
+     */
+    public synchronized void adicionar(Hospede hospede) {
+        try {
+            long posicao = dados.length();
+            StringBuilder linha = new StringBuilder();
+            // Garante que o registro comece em uma linha nova
+            if (posicao > 0) {
+                dados.seek(posicao - 1);
+                if (dados.read() != '\n') linha.append(System.lineSeparator());
+            }
+            long inicio = posicao + linha.toString().getBytes(CODIFICACAO).length;
+            linha.append(hospede.toCSV()).append(System.lineSeparator());
+
+            dados.seek(posicao);
+            dados.write(linha.toString().getBytes(CODIFICACAO));
+
+            if (!novos.containsKey(hospede.getCpf())) {
+                novos.put(hospede.getCpf(), inicio);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar hóspede: " + e.getMessage());
+        }
+    }
+
+    // --- ESTATÍSTICAS ---
+
+    // Tamanho do arquivo agora, em bytes (nunca com um cadastro pela metade)
+    public synchronized long tamanho() {
+        try {
+            return dados.length();
+        } catch (IOException e) {
+            System.err.println("Erro ao ler tamanho do arquivo de hóspedes: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    public synchronized int quantidade() {
+        return quantidadeIndexada + novos.size();
+    }
+
+    public synchronized long getAcertos() { return acertos; }
+
+    public synchronized long getFalhas() { return falhas; }
+
+    public synchronized int getTamanhoCache() { return cache.size(); }
+
+    /**
+     * Fecha o arquivo e, se houve cadastros na sessão, regrava o índice
+     * juntando (merge) as entradas antigas com as novas.
+     */
+    public synchronized void fechar() {
+        try {
+            dados.close();
+            if (!novos.isEmpty()) {
+                gravarIndiceMesclado();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar índice de hóspedes: " + e.getMessage());
+        }
+    }
+
+    // --- MÉTODOS PRIVADOS (Índice) ---
+
+    private Hospede buscarNoIndice(String cpf) throws IOException {
+        int hash = cpf.hashCode();
+
+        // Busca binária pela PRIMEIRA entrada com esse hash
+        int baixo = 0, alto = quantidadeIndexada;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (hashDaEntrada(meio) < hash) baixo = meio + 1;
+            else alto = meio;
+        }
+
+        // CPFs diferentes podem ter o mesmo hash: confere cada candidato lendo a linha
+        for (int i = baixo; i < quantidadeIndexada && hashDaEntrada(i) == hash; i++) {
+            Hospede h = lerRegistro(posicaoDaEntrada(i));
+            if (h != null && h.getCpf().equals(cpf)) return h;
+        }
+        return null;
+    }
+
+    private int hashDaEntrada(int i) {
+        return indice.getInt(TAMANHO_CABECALHO + i * TAMANHO_ENTRADA);
+    }
+
+    private long posicaoDaEntrada(int i) {
+        return indice.getLong(TAMANHO_CABECALHO + i * TAMANHO_ENTRADA + 4);
+    }
+
+    /**
+     * Leitura posicional: lê blocos a partir de 'posicao' até achar o fim da linha.
+     */
+    private Hospede lerRegistro(long posicao) throws IOException {
+        FileChannel canal = dados.getChannel();
+        ByteArrayOutputStream linha = new ByteArrayOutputStream(128);
+        ByteBuffer bloco = ByteBuffer.allocate(256);
+
+        while (true) {
+            bloco.clear();
+            int lidos = canal.read(bloco, posicao);
+            if (lidos <= 0) break;
+            for (int i = 0; i < lidos; i++) {
+                byte b = bloco.get(i);
+                if (b == '\n') return GerenciadorArquivos.lerHospede(decodificar(linha));
+                linha.write(b);
+            }
+            posicao += lidos;
+        }
+        return GerenciadorArquivos.lerHospede(decodificar(linha));
+    }
+
+    // Entrega no máximo 'limite' bytes do fluxo original e depois finge que acabou.
+    private static InputStream limitar(InputStream in, final long limite) {
+        return new FilterInputStream(in) {
+            private long restantes = limite;
+
+            @Override
+            public int read() throws IOException {
+                if (restantes <= 0) return -1;
+                restantes--;
+                return super.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (restantes <= 0) return -1;
+                int lidos = super.read(b, off, (int) Math.min(len, restantes));
+                if (lidos > 0) restantes -= lidos;
+                return lidos;
+            }
+        };
+    }
+
+    private static String decodificar(ByteArrayOutputStream bytes) {
+        String texto = new String(bytes.toByteArray(), CODIFICACAO);
+        return texto.endsWith("\r") ? texto.substring(0, texto.length() - 1) : texto;
+    }
+
+    private boolean indiceValido(File arquivo) {
+        if (!arquivo.exists()) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivo)))) {
+            return in.readLong() == ASSINATURA
+                    && in.readLong() == arquivoDados.length()
+                    && in.readLong() == arquivoDados.lastModified()
+                    && arquivo.length() == TAMANHO_CABECALHO + (long) in.readInt() * TAMANHO_ENTRADA;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private File arquivoTemporario() {
+        return new File(arquivoIndice.getPath() + ".tmp");
+    }
+
+    /**
+     * Se a sessão anterior não conseguiu trocar o índice no fechar() (ver gravarIndiceMesclado),
+     * o índice mesclado ficou completo no .tmp: a troca termina aqui, antes de mapear
+     * qualquer coisa. Um .tmp que não bate com o .txt (gravação interrompida) é descartado.
+     */
+    private void concluirTrocaPendente() throws IOException {
+        File temporario = arquivoTemporario();
+        if (!temporario.exists()) return;
+        if (indiceValido(temporario)) {
+            Files.move(temporario.toPath(), arquivoIndice.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } else {
+            temporario.delete();
+        }
+    }
+
+    private void mapearIndice() throws IOException {
+        try (RandomAccessFile arquivo = new RandomAccessFile(arquivoIndice, "r")) {
+            indice = arquivo.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, arquivo.length());
+        }
+        quantidadeIndexada = indice.getInt(24);
+    }
+
+    /**
+     * Varre o .txt byte a byte anotando onde cada linha começa e o hash do seu CPF
+     * (segundo campo). Só acontece quando o índice não existe ou está desatualizado.
+     */
+    private void reconstruirIndice() throws IOException {
+        long[] chaves = new long[1024];   // (hash << 32) | número da entrada -> ordena por hash
+        long[] posicoes = new long[1024];
+        int total = 0;
+
+        try (InputStream in = new FileInputStream(arquivoDados)) {
+            ByteArrayOutputStream cpf = new ByteArrayOutputStream(32);
+            byte[] bloco = new byte[1 << 16];
+            int lidos = 0, i = 0;
+            long posicao = 0, inicioLinha = 0;
+            int campo = 0;
+            while (true) {
+                if (i == lidos) {
+                    lidos = in.read(bloco);
+                    i = 0;
+                }
+                int b = (lidos == -1) ? -1 : bloco[i++] & 0xFF;
+                if (b == -1 || b == '\n') {
+                    // Linha válida = pelo menos 3 campos (mesma regra do carregarHospedes)
+                    if (campo >= 2) {
+                        if (total == chaves.length) {
+                            chaves = Arrays.copyOf(chaves, total * 2);
+                            posicoes = Arrays.copyOf(posicoes, total * 2);
+                        }
+                        int hash = new String(cpf.toByteArray(), CODIFICACAO).hashCode();
+                        chaves[total] = ((long) hash << 32) | total;
+                        posicoes[total] = inicioLinha;
+                        total++;
+                    }
+                    if (b == -1) break;
+                    cpf.reset();
+                    campo = 0;
+                    inicioLinha = posicao + 1;
+                } else if (b == ';') {
+                    campo++;
+                } else if (campo == 1) {
+                    cpf.write(b);
+                }
+                posicao++;
+            }
+        }
+
+        // Ordena pelo hash; em caso de empate, a ordem do arquivo é mantida (parte baixa da chave)
+        Arrays.sort(chaves, 0, total);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(arquivoIndice)))) {
+            escreverCabecalho(out, total);
+            for (int i = 0; i < total; i++) {
+                out.writeInt((int) (chaves[i] >> 32));
+                out.writeLong(posicoes[(int) chaves[i]]);
+            }
+        }
+    }
+
+    /**
+     * Junta as entradas já ordenadas do índice antigo com as novas (também ordenadas).
+     * As novas estão no fim do arquivo, então em empate de hash vêm depois das antigas.
+     */
+    private void gravarIndiceMesclado() throws IOException {
+        List<Map.Entry<String, Long>> entradasNovas = new ArrayList<>(novos.entrySet());
+        entradasNovas.sort(Comparator.comparingInt((Map.Entry<String, Long> e) -> e.getKey().hashCode())
+                .thenComparingLong(Map.Entry::getValue));
+
+        File temporario = arquivoTemporario();
+        int total = quantidadeIndexada + entradasNovas.size();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporario)))) {
+            escreverCabecalho(out, total);
+            int i = 0, j = 0;
+            while (i < quantidadeIndexada || j < entradasNovas.size()) {
+                boolean usarAntiga = j == entradasNovas.size()
+                        || (i < quantidadeIndexada && hashDaEntrada(i) <= entradasNovas.get(j).getKey().hashCode());
+                if (usarAntiga) {
+                    out.writeInt(hashDaEntrada(i));
+                    out.writeLong(posicaoDaEntrada(i));
+                    i++;
+                } else {
+                    out.writeInt(entradasNovas.get(j).getKey().hashCode());
+                    out.writeLong(entradasNovas.get(j).getValue());
+                    j++;
+                }
+            }
+        }
+
+        // LIMITAÇÃO DE PLATAFORMA: o Java não tem como soltar um MappedByteBuffer na hora
+        // (o mapeamento só some quando o GC recolhe o objeto). Linux/macOS deixam substituir
+        // um arquivo mapeado; o Windows não. Lá a troca falha, o .tmp fica completo no disco
+        // e a próxima abertura a conclui (concluirTrocaPendente) antes de mapear o índice,
+        // sem precisar reconstruí-lo do .txt.
+        indice = null;
+        try {
+            Files.move(temporario.toPath(), arquivoIndice.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Troca adiada para a próxima abertura
+        }
+    }
+
+    // O tamanho/data do .txt vão no cabeçalho para detectar alterações feitas por fora.
+    private void escreverCabecalho(DataOutputStream out, int total) throws IOException {
+        out.writeLong(ASSINATURA);
+        out.writeLong(arquivoDados.length());
+        out.writeLong(arquivoDados.lastModified());
+        out.writeInt(total);
+    }
+}
@@ -1,6 +1,8 @@
 package utils;
 
 import model.*;
+import service.EstadoHotel;
+
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +22,7 @@ public class GerenciadorArquivos {
     // Se precisar mudar a pasta 'dados' para outro lugar, muda-se apenas aqui.
     private static final String CAMINHO_HOSPEDES = "dados/hospedes.txt";
     private static final String CAMINHO_QUARTOS = "dados/quartos.txt";
+    private static final String CAMINHO_INDICE_HOSPEDES = "dados/hospedes.idx";
 
     // --- MÉTODOS DE HÓSPEDES ---
 
@@ -41,8 +44,13 @@ public class GerenciadorArquivos {
     }
 
     public static List<Hospede> carregarHospedes() {
+        return carregarHospedes(CAMINHO_HOSPEDES);
+    }
+
+    // Versão com caminho explícito (ex: arquivos gerados pelo simulador de carga)
+    public static List<Hospede> carregarHospedes(String caminho) {
         List<Hospede> lista = new ArrayList<>();
-        File arquivo = new File(CAMINHO_HOSPEDES);
+        File arquivo = new File(caminho);
 
         // Se o arquivo não existir (primeira vez que roda o programa), retorna lista vazia
         // para não dar erro de "Arquivo não encontrado".
@@ -52,13 +60,8 @@ public class GerenciadorArquivos {
             String linha;
             // Lê linha por linha até o fim do arquivo
             while ((linha = reader.readLine()) != null) {
-                String[] dados = linha.split(";"); // Quebra a string nos pontos e vírgula
-                
-                // Validação básica para evitar erro de índice
-                if (dados.length >= 3) {
-                    // Reconstrói o objeto Hospede a partir do texto
-                    lista.add(new Hospede(dados[0], dados[1], dados[2]));
-                }
+                Hospede h = lerHospede(linha);
+                if (h != null) lista.add(h);
             }
         } catch (IOException e) {
             System.err.println("Erro ao carregar hóspedes: " + e.getMessage());
@@ -66,15 +69,46 @@ public class GerenciadorArquivos {
         return lista;
     }
 
+    /**
+     * Converte UMA linha do arquivo ("Nome;CPF;Telefone") em Hospede.
+     * Retorna null se a linha estiver incompleta.
+     */
+    public static Hospede lerHospede(String linha) {
+        String[] dados = linha.split(";"); // Quebra a string nos pontos e vírgula
+
+        // Validação básica para evitar erro de índice
+        if (dados.length < 3) return null;
+
+        // Reconstrói o objeto Hospede a partir do texto
+        return new Hospede(dados[0], dados[1], dados[2]);
+    }
+
+    /**
+     * MODO SOB DEMANDA:
+     * Em vez de carregar a lista inteira, abre o arquivo de hóspedes com um índice
+     * CPF -> posição e um cache LRU com 'capacidadeCache' hóspedes.
+     * Retorna null se não conseguir abrir (quem chama pode voltar ao modo normal).
+     */
+    public static ArquivoHospedesIndexado abrirHospedesSobDemanda(int capacidadeCache) {
+        try {
+            return new ArquivoHospedesIndexado(CAMINHO_HOSPEDES, CAMINHO_INDICE_HOSPEDES, capacidadeCache);
+        } catch (IOException e) {
+            System.err.println("Erro ao abrir índice de hóspedes: " + e.getMessage());
+            return null;
+        }
+    }
+
     // --- MÉTODOS DE QUARTOS (Onde a mágica do Polimorfismo acontece) ---
 
-    public static void salvarQuartos(List<Quarto> quartos) {
+    public static void salvarQuartos(EstadoHotel foto) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(CAMINHO_QUARTOS))) {
-            for (Quarto q : quartos) {
+            List<Quarto> quartos = foto.getQuartos();
+            for (int i = 0; i < quartos.size(); i++) {
                 // POLIMORFISMO NA ESCRITA:
                 // O método toCSV() do Quarto é inteligente. Ele escreve no início
                 // se é "LUXO" ou "SIMPLES". Isso é crucial para saber carregar depois.
-                writer.write(q.toCSV());
+                // A ocupação vem da foto (o Quarto em si pode estar mudando agora mesmo).
+                writer.write(quartos.get(i).toCSV(foto.isOcupado(i)));
                 writer.newLine();
             }
             System.out.println("Quartos salvos em: " + CAMINHO_QUARTOS);
@@ -84,41 +118,20 @@ public class GerenciadorArquivos {
     }
 
     public static List<Quarto> carregarQuartos() {
+        return carregarQuartos(CAMINHO_QUARTOS);
+    }
+
+    public static List<Quarto> carregarQuartos(String caminho) {
         List<Quarto> lista = new ArrayList<>();
-        File arquivo = new File(CAMINHO_QUARTOS);
+        File arquivo = new File(caminho);
 
         if (!arquivo.exists()) return lista;
 
         try (BufferedReader reader = new BufferedReader(new FileReader(arquivo))) {
             String linha;
             while ((linha = reader.readLine()) != null) {
-                String[] dados = linha.split(";");
-                
-                // Formato esperado do CSV: TIPO;NUMERO;PRECO;OCUPADO
-                if (dados.length >= 4) {
-                    // Extrai os dados puros (Strings)
-                    String tipo = dados[0]; 
-                    int numero = Integer.parseInt(dados[1]);
-                    double preco = Double.parseDouble(dados[2]);
-                    boolean isOcupado = Boolean.parseBoolean(dados[3]);
-
-                    Quarto q;
-                    
-                    // --- FÁBRICA DE OBJETOS (Factory Logic) ---
-                    // Aqui decidimos QUAL filho instanciar baseado no texto do arquivo.
-                    // Sem isso, não conseguiríamos recuperar o polimorfismo (luxo custar mais).
-                    if (tipo.equals("LUXO")) {
-                        q = new QuartoLuxo(numero, preco);
-                    } else {
-                        q = new QuartoSimples(numero, preco);
-                    }
-                    
-                    // IMPORTANTE: Restaurar o estado do quarto.
-                    // Se o quarto estava ocupado quando fechou o programa, ele volta ocupado.
-                    q.setOcupado(isOcupado);
-                    
-                    lista.add(q);
-                }
+                Quarto q = lerQuarto(linha);
+                if (q != null) lista.add(q);
             }
            // System.out.println("Quartos carregados do arquivo com sucesso!");
         } catch (IOException | NumberFormatException e) {
@@ -126,4 +139,37 @@ public class GerenciadorArquivos {
         }
         return lista;
     }
+
+    /**
+     * Converte UMA linha ("TIPO;NUMERO;PRECO;OCUPADO") no quarto certo (Simples ou Luxo).
+     * Retorna null se a linha estiver incompleta; números inválidos lançam NumberFormatException.
+     */
+    public static Quarto lerQuarto(String linha) {
+        String[] dados = linha.split(";");
+
+        // Formato esperado do CSV: TIPO;NUMERO;PRECO;OCUPADO
+        if (dados.length < 4) return null;
+
+        // Extrai os dados puros (Strings)
+        String tipo = dados[0];
+        int numero = Integer.parseInt(dados[1]);
+        double preco = Double.parseDouble(dados[2]);
+        boolean isOcupado = Boolean.parseBoolean(dados[3]);
+
+        Quarto q;
+
+        // --- FÁBRICA DE OBJETOS (Factory Logic) ---
+        // Aqui decidimos QUAL filho instanciar baseado no texto do arquivo.
+        // Sem isso, não conseguiríamos recuperar o polimorfismo (luxo custar mais).
+        if (tipo.equals("LUXO")) {
+            q = new QuartoLuxo(numero, preco);
+        } else {
+            q = new QuartoSimples(numero, preco);
+        }
+
+        // IMPORTANTE: Restaurar o estado do quarto.
+        // Se o quarto estava ocupado quando fechou o programa, ele volta ocupado.
+        q.setOcupado(isOcupado);
+        return q;
+    }
 }